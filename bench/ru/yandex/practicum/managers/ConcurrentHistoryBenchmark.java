@@ -0,0 +1,102 @@
+package ru.yandex.practicum.managers;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Производительность потокобезопасных реализаций HistoryManager при параллельных просмотрах:
+// SynchronizedHistoryManager над InMemoryHistoryManager (общий монитор) и ConcurrentHistoryManager
+// addTask выполняется во всех доступных потоках, группа mixed - три потока просмотров и поток чтения истории.
+// Количество потоков для addTask можно изменить параметром -t
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentHistoryBenchmark {
+    // Количество просмотров, порядок которых заранее выбирается случайно для каждого потока
+    private static final int VIEW_COUNT = 1 << 16;
+
+    // Реализация истории просмотра
+    @Param({"synchronized", "concurrent"})
+    private String implementation;
+
+    // Количество различных просматриваемых задач
+    @Param({"1000"})
+    private int taskCount;
+
+    // История просмотра
+    private HistoryManager historyManager;
+    // Просматриваемые задачи
+    private Task[] tasks;
+
+    // Порядок просмотра задач в потоке
+    @State(Scope.Thread)
+    public static class ThreadViews {
+        // Индексы задач в порядке просмотра
+        private int[] views;
+        // Номер следующего просмотра
+        private int index;
+
+        // Подготовка порядка просмотра (у каждого потока свой)
+        @Setup
+        public void setup(ConcurrentHistoryBenchmark benchmark) {
+            Random random = new Random(Thread.currentThread().threadId());
+            views = new int[VIEW_COUNT];
+            for (int i = 0; i < VIEW_COUNT; i++) {
+                views[i] = random.nextInt(benchmark.taskCount);
+            }
+        }
+
+        // Индекс следующей просматриваемой задачи
+        private int next() {
+            return views[index++ & (VIEW_COUNT - 1)];
+        }
+    }
+
+    // Подготовка заполненной истории
+    @Setup
+    public void setup() {
+        historyManager = implementation.equals("concurrent")
+                ? Managers.getConcurrentHistoryManager()
+                : new SynchronizedHistoryManager(Managers.getDefaultHistory());
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        tasks = new Task[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            tasks[i] = new Task(i + 1, "Task" + i, "description", TaskStatus.NEW,
+                    start.plusHours(i), Duration.ofMinutes(30));
+            historyManager.addTask(tasks[i]);
+        }
+    }
+
+    // Параллельные просмотры задач
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void addTask(ThreadViews views) {
+        historyManager.addTask(tasks[views.next()]);
+    }
+
+    // Просмотры задач параллельно с чтением истории
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void mixedAddTask(ThreadViews views) {
+        historyManager.addTask(tasks[views.next()]);
+    }
+
+    // Чтение истории параллельно с просмотрами задач
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public List<Task> mixedGetHistory() {
+        return historyManager.getHistory();
+    }
+}
@@ -0,0 +1,122 @@
+package ru.yandex.practicum.managers;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.tasks.Epic;
+import ru.yandex.practicum.tasks.Subtask;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Сравнение полного пересчёта параметров эпика: четыре отдельных прохода stream API
+// (прежняя реализация InMemoryTaskManager) против одного совмещённого прохода EpicAggregate.recalculate
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EpicRecalculationBenchmark {
+    // Количество подзадач эпика
+    @Param({"10", "1000", "100000"})
+    private int subtaskCount;
+
+    // Эпик, параметры которого пересчитываются
+    private Epic epic;
+    // Подзадачи трекера
+    private Map<Integer, Subtask> subtasks;
+
+    // Подготовка эпика с подзадачами в разных статусах и с непересекающимися интервалами
+    @Setup
+    public void setup() {
+        subtasks = new HashMap<>();
+        List<Integer> subtaskIDs = new ArrayList<>();
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        for (int i = 1; i <= subtaskCount; i++) {
+            // Каждая десятая подзадача - без даты начала
+            LocalDateTime startTime = i % 10 == 0 ? null : start.plusMinutes(30L * i);
+            subtasks.put(i, new Subtask(i, "Подзадача " + i, "Описание", statuses[i % statuses.length], 0,
+                    startTime, Duration.ofMinutes(15)));
+            subtaskIDs.add(i);
+        }
+
+        epic = new Epic(0, "Эпик", "Описание", TaskStatus.NEW, subtaskIDs, null, Duration.ZERO);
+    }
+
+    // Пересчёт четырьмя отдельными проходами stream API
+    @Benchmark
+    public Epic streams() {
+        List<Integer> subtaskIDs = epic.getSubtaskIDs();
+        return new Epic(epic.getID(), epic.getName(), epic.getDescription(), calculateEpicStatus(subtaskIDs),
+                subtaskIDs, calculateEpicStartTime(subtaskIDs), calculateEpicDuration(subtaskIDs),
+                calculateEpicEndTime(subtaskIDs));
+    }
+
+    // Пересчёт одним совмещённым проходом
+    @Benchmark
+    public Epic fusedPass() {
+        return EpicAggregate.recalculate(epic, epic.getSubtaskIDs(), subtasks);
+    }
+
+    // Расчёт статуса эпика (прежняя реализация)
+    private TaskStatus calculateEpicStatus(List<Integer> subtaskIDs) {
+        List<Subtask> epicSubtasks = subtaskIDs.stream()
+                .map(subtaskId -> subtasks.get(subtaskId))
+                .collect(Collectors.toList());
+
+        if (epicSubtasks.isEmpty()) {
+            return TaskStatus.NEW;
+        }
+
+        int newSubtasks = 0;
+        int doneSubtasks = 0;
+        for (Subtask subtask : epicSubtasks) {
+            switch (subtask.getStatus()) {
+                case NEW -> newSubtasks++;
+                case DONE -> doneSubtasks++;
+                default -> { }
+            }
+        }
+
+        if (newSubtasks == epicSubtasks.size()) {
+            return TaskStatus.NEW;
+        } else if (doneSubtasks == epicSubtasks.size()) {
+            return TaskStatus.DONE;
+        } else {
+            return TaskStatus.IN_PROGRESS;
+        }
+    }
+
+    // Расчёт продолжительности эпика (прежняя реализация)
+    private Duration calculateEpicDuration(List<Integer> subtaskIDs) {
+        return subtaskIDs.stream()
+                .map(subtaskId -> subtasks.get(subtaskId).getDuration())
+                .filter(Objects::nonNull)
+                .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    // Расчёт даты начала эпика (прежняя реализация)
+    private LocalDateTime calculateEpicStartTime(List<Integer> subtaskIDs) {
+        return subtaskIDs.stream()
+                .map(subtaskId -> subtasks.get(subtaskId).getStartTime())
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    // Расчёт даты окончания эпика (прежняя реализация)
+    private LocalDateTime calculateEpicEndTime(List<Integer> subtaskIDs) {
+        return subtaskIDs.stream()
+                .map(subtaskId -> subtasks.get(subtaskId).getEndTime())
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,92 @@
+package ru.yandex.practicum.managers;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.tasks.Epic;
+import ru.yandex.practicum.tasks.Subtask;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Производительность сохранения задач в файл и загрузки из файла в FileBackedTaskManager
+// Трекер содержит taskCount задач и taskCount / 10 эпиков по 10 подзадач
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileBackedTaskManagerBenchmark {
+    // Количество задач (и подзадач) в трекере
+    @Param({"100", "10000"})
+    private int taskCount;
+
+    // Трекер, сохраняющий задачи после каждого изменения
+    private FileBackedTaskManager taskManager;
+    // Файл автосохранения трекера taskManager
+    private File saveFile;
+    // Файл автосохранения трекеров, загружаемых в loadFromFile
+    private File loadedSaveFile;
+    // Задача, которая изменяется в updateBasicTask
+    private Task updatedTask;
+
+    // Подготовка трекера и файлов
+    @Setup
+    public void setup() throws IOException {
+        saveFile = File.createTempFile("benchmark", ".csv");
+        loadedSaveFile = File.createTempFile("benchmark", ".csv");
+        // Задачи добавляются с фоновым сохранением, чтобы не перезаписывать файл после каждой из них
+        FileBackedTaskManager seedManager = new FileBackedTaskManager(loadedSaveFile,
+                SaveSettings.asynchronous(Duration.ofMinutes(1), Integer.MAX_VALUE));
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Duration duration = Duration.ofMinutes(30);
+        for (int i = 0; i < taskCount; i++) {
+            updatedTask = new Task(seedManager.nextId(), "Задача " + i, "Описание, с запятой", TaskStatus.NEW,
+                    start.plusHours(2L * i), duration);
+            seedManager.addBasicTask(updatedTask);
+        }
+        for (int i = 0; i < taskCount / 10; i++) {
+            Epic epic = new Epic(seedManager.nextId(), "Эпик " + i, "Описание");
+            seedManager.addEpic(epic);
+            for (int j = 0; j < 10; j++) {
+                int slot = i * 10 + j;
+                seedManager.addSubtask(new Subtask(seedManager.nextId(), "Подзадача " + slot, "Описание",
+                        TaskStatus.values()[slot % 3], epic.getID(), start.plusHours(2L * slot + 1), duration));
+            }
+        }
+        seedManager.close();
+
+        taskManager = FileBackedTaskManager.loadFromFile(loadedSaveFile, saveFile);
+    }
+
+    // Освобождение ресурсов
+    @TearDown
+    public void tearDown() {
+        taskManager.close();
+        saveFile.delete();
+        loadedSaveFile.delete();
+    }
+
+    // Изменение задачи с сохранением всех задач трекера в файл
+    @Benchmark
+    public Task updateBasicTask() {
+        TaskStatus status = updatedTask.getStatus() == TaskStatus.NEW ? TaskStatus.DONE : TaskStatus.NEW;
+        updatedTask = new Task(updatedTask.getID(), updatedTask.getName(), updatedTask.getDescription(), status,
+                updatedTask.getStartTime().orElse(null), updatedTask.getDuration());
+        taskManager.updateBasicTask(updatedTask);
+        return updatedTask;
+    }
+
+    // Загрузка трекера из файла (с сохранением в файл автосохранения)
+    @Benchmark
+    public int loadFromFile() {
+        try (FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(saveFile, loadedSaveFile)) {
+            return loaded.getAllSubtasks().size();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.managers;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Производительность реализаций HistoryManager: InMemoryHistoryManager (узлы связного списка и HashMap)
+// и ArrayHistoryManager (параллельные массивы и IntIndexMap)
+// История заполнена taskCount задачами, просмотр выбирает одну из них случайно. Выделение памяти
+// на операцию можно посмотреть, запустив бенчмарк с профилировщиком -prof gc
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryManagerBenchmark {
+    // Количество просмотров, порядок которых заранее выбирается случайно
+    private static final int VIEW_COUNT = 1 << 16;
+
+    // Реализация истории просмотра
+    @Param({"linked", "array"})
+    private String implementation;
+
+    // Количество задач в истории
+    @Param({"100", "10000"})
+    private int taskCount;
+
+    // История просмотра
+    private HistoryManager historyManager;
+    // Просматриваемые задачи
+    private Task[] tasks;
+    // Порядок просмотра задач (индексы в массиве задач)
+    private int[] views;
+    // Номер следующего просмотра
+    private int viewIndex;
+
+    // Подготовка заполненной истории
+    @Setup
+    public void setup() {
+        historyManager = implementation.equals("array")
+                ? Managers.getArrayHistoryManager()
+                : Managers.getDefaultHistory();
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        tasks = new Task[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            tasks[i] = new Task(i + 1, "Task" + i, "description", TaskStatus.NEW,
+                    start.plusHours(i), Duration.ofMinutes(30));
+            historyManager.addTask(tasks[i]);
+        }
+
+        Random random = new Random(42);
+        views = new int[VIEW_COUNT];
+        for (int i = 0; i < VIEW_COUNT; i++) {
+            views[i] = random.nextInt(taskCount);
+        }
+    }
+
+    // Просмотр задачи, уже находящейся в истории (перенос в конец)
+    @Benchmark
+    public void addTask() {
+        historyManager.addTask(tasks[views[viewIndex++ & (VIEW_COUNT - 1)]]);
+    }
+
+    // Получение списка просмотренных задач
+    @Benchmark
+    public List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+}
@@ -0,0 +1,95 @@
+package ru.yandex.practicum.managers;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Память, занимаемая историей просмотра после миллиона просмотров случайных задач, в зависимости
+// от ограничения размера истории (0 - без ограничения)
+// Помимо времени выполнения просмотров, выводит счётчик retainedBytes - прирост занятой кучи
+// после сборки мусора, пока история ещё доступна
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class HistoryMemoryBenchmark {
+    // Количество различных задач
+    private static final int TASK_COUNT = 100_000;
+    // Количество просмотров
+    private static final int VIEW_COUNT = 1_000_000;
+
+    // Максимальный размер истории (0 - без ограничения)
+    @Param({"10", "1000", "0"})
+    private int maxSize;
+
+    // Просматриваемые задачи
+    private Task[] tasks;
+    // Порядок просмотра задач (индексы в массиве задач)
+    private int[] views;
+    // Занятая куча до создания истории
+    private long baselineBytes;
+
+    // Прирост занятой кучи, создаваемый историей
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapUsage {
+        public long retainedBytes;
+    }
+
+    // Подготовка задач и порядка просмотра
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+        tasks = new Task[TASK_COUNT];
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks[i] = new Task(i + 1, "Task" + i, "description" + i, TaskStatus.NEW,
+                    start.plusHours(i), Duration.ofMinutes(30));
+        }
+
+        views = new int[VIEW_COUNT];
+        for (int i = 0; i < VIEW_COUNT; i++) {
+            views[i] = random.nextInt(TASK_COUNT);
+        }
+    }
+
+    // Измерение занятой кучи до создания истории
+    @Setup(Level.Iteration)
+    public void measureBaseline() {
+        baselineBytes = usedHeapAfterGc();
+    }
+
+    // Миллион просмотров случайных задач
+    @Benchmark
+    public HistoryManager viewRandomTasks(HeapUsage heapUsage) {
+        HistoryManager historyManager = maxSize > 0
+                ? Managers.getDefaultHistory(maxSize)
+                : Managers.getDefaultHistory();
+
+        for (int index : views) {
+            historyManager.addTask(tasks[index]);
+        }
+
+        heapUsage.retainedBytes = usedHeapAfterGc() - baselineBytes;
+        return historyManager;
+    }
+
+    // Занятая куча после сборки мусора
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
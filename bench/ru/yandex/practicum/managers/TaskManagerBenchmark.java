@@ -0,0 +1,140 @@
+package ru.yandex.practicum.managers;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.exceptions.TaskOverlapException;
+import ru.yandex.practicum.tasks.Epic;
+import ru.yandex.practicum.tasks.Subtask;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Производительность основных операций InMemoryTaskManager в зависимости от количества задач в трекере
+// Трекер содержит taskCount задач и один эпик с taskCount подзадачами, интервалы которых не пересекаются,
+// все задачи и подзадачи просмотрены (находятся в истории)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskManagerBenchmark {
+    // Количество задач (и подзадач) в трекере
+    @Param({"100", "10000"})
+    private int taskCount;
+
+    // Дата начала первой задачи
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    // Продолжительность задач
+    private static final Duration DURATION = Duration.ofMinutes(30);
+
+    // Трекер задач
+    private InMemoryTaskManager taskManager;
+    // id эпика с подзадачами
+    private int epicID;
+    // Подзадача в середине эпика, статус которой меняется в updateSubtaskInLargeEpic
+    private Subtask updatedSubtask;
+    // Дата начала, после которой в трекере нет задач
+    private LocalDateTime freeTime;
+    // Дата начала, пересекающаяся с задачей в середине трекера
+    private LocalDateTime busyTime;
+
+    // Подготовка трекера
+    @Setup
+    public void setup() {
+        taskManager = Managers.getInMemoryTaskManager();
+
+        Epic epic = new Epic(taskManager.nextId(), "Эпик", "Описание");
+        taskManager.addEpic(epic);
+        epicID = epic.getID();
+
+        // Задачи и подзадачи чередуются через час
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task(taskManager.nextId(), "Задача " + i, "Описание", TaskStatus.NEW,
+                    START.plusHours(2L * i), DURATION);
+            taskManager.addBasicTask(task);
+            taskManager.getBasicTaskById(task.getID());
+
+            Subtask subtask = new Subtask(taskManager.nextId(), "Подзадача " + i, "Описание", TaskStatus.NEW,
+                    epicID, START.plusHours(2L * i + 1), DURATION);
+            taskManager.addSubtask(subtask);
+            taskManager.getSubtaskById(subtask.getID());
+            if (i == taskCount / 2) {
+                updatedSubtask = subtask;
+            }
+        }
+
+        freeTime = START.plusHours(2L * taskCount);
+        busyTime = START.plusHours(taskCount).plusMinutes(10);
+    }
+
+    // Добавление задачи без пересечений (с последующим удалением, чтобы трекер не рос)
+    @Benchmark
+    public int addAndRemoveBasicTask() {
+        int id = taskManager.nextId();
+        taskManager.addBasicTask(new Task(id, "Задача", "Описание", TaskStatus.NEW, freeTime, DURATION));
+        taskManager.removeBasicTaskById(id);
+        return id;
+    }
+
+    // Добавление задачи, пересекающейся с задачей трекера
+    @Benchmark
+    public boolean addBasicTaskWithOverlap() {
+        try {
+            taskManager.addBasicTask(new Task(taskManager.nextId(), "Задача", "Описание", TaskStatus.NEW,
+                    busyTime, DURATION));
+            return false;
+        } catch (TaskOverlapException exception) {
+            return true;
+        }
+    }
+
+    // Добавление подзадачи без пересечений в эпик с taskCount подзадачами (с последующим удалением)
+    @Benchmark
+    public int addAndRemoveSubtask() {
+        int id = taskManager.nextId();
+        taskManager.addSubtask(new Subtask(id, "Подзадача", "Описание", TaskStatus.NEW, epicID, freeTime,
+                DURATION));
+        taskManager.removeSubtaskById(id);
+        return id;
+    }
+
+    // Добавление подзадачи, пересекающейся с задачей трекера
+    @Benchmark
+    public boolean addSubtaskWithOverlap() {
+        try {
+            taskManager.addSubtask(new Subtask(taskManager.nextId(), "Подзадача", "Описание", TaskStatus.NEW,
+                    epicID, busyTime, DURATION));
+            return false;
+        } catch (TaskOverlapException exception) {
+            return true;
+        }
+    }
+
+    // Изменение статуса подзадачи с пересчётом параметров эпика с taskCount подзадачами
+    // Список подзадач эпика не меняется и не копируется, поэтому время не должно расти с taskCount
+    @Benchmark
+    public Subtask updateSubtaskInLargeEpic() {
+        TaskStatus status = updatedSubtask.getStatus() == TaskStatus.NEW ? TaskStatus.DONE : TaskStatus.NEW;
+        updatedSubtask = new Subtask(updatedSubtask.getID(), updatedSubtask.getName(),
+                updatedSubtask.getDescription(), status, epicID, updatedSubtask.getStartTime().orElse(null),
+                DURATION);
+        taskManager.updateSubtask(updatedSubtask);
+        return updatedSubtask;
+    }
+
+    // Получение задач в порядке приоритета
+    @Benchmark
+    public List<Task> getPrioritizedTasks() {
+        return taskManager.getPrioritizedTasks();
+    }
+
+    // Получение истории просмотров
+    @Benchmark
+    public List<Task> getHistory() {
+        return taskManager.getHistory();
+    }
+}
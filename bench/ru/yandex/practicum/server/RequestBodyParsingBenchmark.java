@@ -0,0 +1,105 @@
+package ru.yandex.practicum.server;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.managers.InMemoryTaskManager;
+import ru.yandex.practicum.tasks.Epic;
+import ru.yandex.practicum.tasks.Subtask;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Производительность разбора тела POST-запроса: прежний способ (чтение тела в строку, проверка через
+// JsonParser и повторный разбор строки) и однократный разбор прямо из потока (BaseHttpHandler.readTask)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBodyParsingBenchmark {
+    // Длина названия и описания задач
+    @Param({"10", "1000"})
+    private int textLength;
+
+    // Обработчик, Gson и метод readTask которого используются для разбора
+    private TasksHandler handler;
+    // Тело запроса с задачей (обычной)
+    private byte[] taskBody;
+    // Тело запроса с подзадачей
+    private byte[] subtaskBody;
+    // Тело запроса с эпиком
+    private byte[] epicBody;
+
+    // Подготовка тел запросов
+    @Setup
+    public void setup() {
+        handler = new TasksHandler(new InMemoryTaskManager());
+        String text = "а".repeat(textLength);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        Duration duration = Duration.ofMinutes(30);
+
+        taskBody = handler.gson.toJson(new Task(0, text, text, TaskStatus.NEW, start, duration))
+                .getBytes(StandardCharsets.UTF_8);
+        subtaskBody = handler.gson.toJson(new Subtask(0, text, text, TaskStatus.NEW, 1, start, duration))
+                .getBytes(StandardCharsets.UTF_8);
+        epicBody = handler.gson.toJson(new Epic(0, text, text))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Разбор задачи (обычной) прежним способом
+    @Benchmark
+    public Task parseTaskTwice() throws IOException {
+        return parseTwice(new ByteArrayInputStream(taskBody), Task.class);
+    }
+
+    // Разбор задачи (обычной) из потока
+    @Benchmark
+    public Task parseTaskOnce() throws IOException {
+        return handler.readTask(new ByteArrayInputStream(taskBody), Task.class).orElseThrow();
+    }
+
+    // Разбор подзадачи прежним способом
+    @Benchmark
+    public Subtask parseSubtaskTwice() throws IOException {
+        return parseTwice(new ByteArrayInputStream(subtaskBody), Subtask.class);
+    }
+
+    // Разбор подзадачи из потока
+    @Benchmark
+    public Subtask parseSubtaskOnce() throws IOException {
+        return handler.readTask(new ByteArrayInputStream(subtaskBody), Subtask.class).orElseThrow();
+    }
+
+    // Разбор эпика прежним способом
+    @Benchmark
+    public Epic parseEpicTwice() throws IOException {
+        return parseTwice(new ByteArrayInputStream(epicBody), Epic.class);
+    }
+
+    // Разбор эпика из потока
+    @Benchmark
+    public Epic parseEpicOnce() throws IOException {
+        return handler.readTask(new ByteArrayInputStream(epicBody), Epic.class).orElseThrow();
+    }
+
+    // Прежний способ разбора тела запроса
+    private <T extends Task> T parseTwice(InputStream body, Class<T> type) throws IOException {
+        String json = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        JsonElement jsonElement = JsonParser.parseString(json);
+
+        if (!jsonElement.isJsonObject()) {
+            throw new IllegalStateException("Некорректный формат задачи");
+        }
+
+        return handler.gson.fromJson(json, type);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.yandex.practicum.utils;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.tasks.Epic;
+import ru.yandex.practicum.tasks.Subtask;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Производительность разбора строк CSV-файла в зависимости от длины названия и описания задачи
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskParserBenchmark {
+    // Длина названия и описания задач
+    @Param({"10", "1000"})
+    private int textLength;
+
+    // Строка с задачей (обычной)
+    private String taskLine;
+    // Строка с подзадачей
+    private String subtaskLine;
+    // Строка с эпиком
+    private String epicLine;
+    // Строка с задачей, название и описание которой содержат спецсимволы CSV
+    private String escapedTaskLine;
+
+    // Подготовка строк
+    @Setup
+    public void setup() {
+        String text = "а".repeat(textLength);
+        String escapedText = "\"а,б\"".repeat(Math.max(1, textLength / 5));
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        Duration duration = Duration.ofMinutes(30);
+
+        taskLine = new Task(1, text, text, TaskStatus.NEW, start, duration).toString();
+        subtaskLine = new Subtask(2, text, text, TaskStatus.DONE, 3, start, duration).toString();
+        epicLine = new Epic(3, text, text, TaskStatus.IN_PROGRESS, List.of(2), start, duration).toString();
+        escapedTaskLine = new Task(4, escapedText, escapedText, TaskStatus.NEW, start, duration).toString();
+    }
+
+    // Разбор строки с задачей (обычной)
+    @Benchmark
+    public Task parseTask() {
+        return TaskParser.parse(taskLine);
+    }
+
+    // Разбор строки с подзадачей
+    @Benchmark
+    public Task parseSubtask() {
+        return TaskParser.parse(subtaskLine);
+    }
+
+    // Разбор строки с эпиком
+    @Benchmark
+    public Task parseEpic() {
+        return TaskParser.parse(epicLine);
+    }
+
+    // Разбор строки со спецсимволами CSV
+    @Benchmark
+    public Task parseEscapedTask() {
+        return TaskParser.parse(escapedTaskLine);
+    }
+}
@@ -6,4 +6,9 @@ public class ManagerLoadException extends RuntimeException {
     public ManagerLoadException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    // Конструктор класса ManagerLoadException
+    public ManagerLoadException(String message) {
+        super(message);
+    }
 }
@@ -6,4 +6,9 @@ public class ManagerSaveException extends RuntimeException {
     public ManagerSaveException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    // Конструктор класса ManagerSaveException
+    public ManagerSaveException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,14 @@
+package ru.yandex.practicum.exceptions;
+
+// Возникает, когда в TaskManager уже есть задача с id создаваемой задачи
+public class TaskAlreadyExistsException extends RuntimeException {
+    // Конструктор класса TaskAlreadyExistsException
+    public TaskAlreadyExistsException(String message) {
+        super(message);
+    }
+
+    // Конструктор класса TaskAlreadyExistsException
+    public TaskAlreadyExistsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
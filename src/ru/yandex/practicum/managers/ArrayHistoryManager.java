@@ -0,0 +1,204 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.Task;
+
+import java.util.*;
+
+// Класс для управления историей просмотра задач на массивах
+// Порядок просмотров хранится в виде двусвязного списка по индексам в параллельных массивах (задачи,
+// предыдущий и следующий элементы), а id задачи отображается в индекс без упаковки (IntIndexMap).
+// Поэтому запись просмотра не создаёт объектов (задачи неизменяемы и хранятся без копирования, а память
+// выделяется только при увеличении массивов), а getHistory обходит массивы вместо цепочки узлов.
+// Как и InMemoryHistoryManager, размер истории может быть ограничен (вытесняется самый давний просмотр)
+public class ArrayHistoryManager implements HistoryManager {
+    // Признак отсутствия элемента
+    private static final int NONE = IntIndexMap.NO_INDEX;
+    // Начальная ёмкость массивов
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Максимальный размер истории
+    private final int maxSize;
+    // Отображение id задачи в индекс элемента
+    private final IntIndexMap indexById;
+    // Представление истории только для чтения
+    private final Collection<Task> historyView;
+    // Задачи (в состоянии на момент просмотра)
+    private Task[] tasks;
+    // Индексы предыдущих элементов списка
+    private int[] prev;
+    // Индексы следующих элементов списка (для свободных элементов - следующий свободный элемент)
+    private int[] next;
+    // Индекс первого элемента списка (самый давний просмотр)
+    private int head = NONE;
+    // Индекс последнего элемента списка
+    private int tail = NONE;
+    // Индекс первого свободного элемента
+    private int freeHead = NONE;
+    // Количество когда-либо занятых элементов (элементы с большими индексами ещё не использовались)
+    private int used;
+
+    // Конструктор класса ArrayHistoryManager с ограничением размера истории
+    public ArrayHistoryManager(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Размер истории должен быть положительным");
+        }
+
+        this.maxSize = maxSize;
+        int capacity = Math.min(maxSize, INITIAL_CAPACITY);
+        indexById = new IntIndexMap(capacity);
+        historyView = new HistoryView();
+        tasks = new Task[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+    }
+
+    // Конструктор класса ArrayHistoryManager (размер истории не ограничен)
+    public ArrayHistoryManager() {
+        this(Integer.MAX_VALUE);
+    }
+
+    // Добавить задачу в историю
+    @Override
+    public void addTask(Task task) {
+        // Проверка задачи на null
+        if (task == null) {
+            return;
+        }
+
+        int index = indexById.get(task.getID());
+        if (index != NONE) { // Задача уже в истории - переносим её элемент в конец списка
+            unlink(index);
+        } else if (indexById.size() == maxSize) { // История переполнена - занимаем элемент самого давнего просмотра
+            index = head;
+            unlink(index);
+            indexById.remove(tasks[index].getID());
+            indexById.put(task.getID(), index);
+        } else {
+            index = allocate();
+            indexById.put(task.getID(), index);
+        }
+
+        tasks[index] = task;
+        linkLast(index);
+    }
+
+    // Вернуть список просмотренных задач
+    @Override
+    public List<Task> getHistory() {
+        List<Task> history = new ArrayList<>(indexById.size());
+        for (int index = head; index != NONE; index = next[index]) {
+            history.add(tasks[index]);
+        }
+        return history;
+    }
+
+    // Вернуть представление истории только для чтения (отражает последующие изменения истории)
+    @Override
+    public Collection<Task> getHistoryView() {
+        return historyView;
+    }
+
+    // Получить задачу из истории по id (null, если задачи нет в истории)
+    public Task getTask(int id) {
+        int index = indexById.get(id);
+        return index == NONE ? null : tasks[index];
+    }
+
+    // Удалить задачу из истории
+    @Override
+    public void removeTask(int id) {
+        int index = indexById.remove(id);
+        if (index == NONE) {
+            return;
+        }
+
+        unlink(index);
+        tasks[index] = null;
+        next[index] = freeHead;
+        freeHead = index;
+    }
+
+    // Представление истории, обходящее массивы без копирования
+    private class HistoryView extends AbstractCollection<Task> {
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<>() {
+                // Индекс следующего элемента
+                private int nextIndex = head;
+
+                @Override
+                public boolean hasNext() {
+                    return nextIndex != NONE;
+                }
+
+                @Override
+                public Task next() {
+                    if (nextIndex == NONE) {
+                        throw new NoSuchElementException();
+                    }
+
+                    Task task = tasks[nextIndex];
+                    nextIndex = next[nextIndex];
+                    return task;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return indexById.size();
+        }
+    }
+
+    // Занять свободный элемент (при необходимости массивы увеличиваются вдвое, но не больше maxSize)
+    private int allocate() {
+        if (freeHead != NONE) {
+            int index = freeHead;
+            freeHead = next[index];
+            return index;
+        }
+
+        if (used == tasks.length) {
+            int capacity = (int) Math.min(maxSize, 2L * tasks.length);
+            tasks = Arrays.copyOf(tasks, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+
+        return used++;
+    }
+
+    // Добавить элемент в конец списка
+    private void linkLast(int index) {
+        prev[index] = tail;
+        next[index] = NONE;
+
+        // Если список был пуст, то новый элемент будет являться head
+        if (tail == NONE) {
+            head = index;
+        } else {
+            next[tail] = index;
+        }
+        tail = index;
+    }
+
+    // Исключить элемент из списка
+    private void unlink(int index) {
+        int prevIndex = prev[index];
+        int nextIndex = next[index];
+
+        // Если исключаемый элемент является head
+        if (prevIndex == NONE) {
+            head = nextIndex;
+        } else {
+            next[prevIndex] = nextIndex;
+        }
+
+        // Если исключаемый элемент является tail
+        if (nextIndex == NONE) {
+            tail = prevIndex;
+        } else {
+            prev[nextIndex] = prevIndex;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskType;
+
+// Операция пакета изменений трекера (см. TaskManager.applyBatch)
+// action - действие над задачей
+// taskType - тип задачи
+// id - id задачи
+// task - новая версия задачи (null для удаления)
+public record BatchOperation(Action action, TaskType taskType, int id, Task task) {
+    // Действие над задачей
+    public enum Action {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    // Конструктор record BatchOperation с проверкой параметров
+    public BatchOperation {
+        if (action == null || taskType == null) {
+            throw new IllegalArgumentException("Не указано действие или тип задачи");
+        }
+        if (action != Action.DELETE && (task == null || task.getID() != id || TaskType.of(task) != taskType)) {
+            throw new IllegalArgumentException("Задача не соответствует операции");
+        }
+    }
+
+    // Создание задачи
+    public static BatchOperation create(Task task) {
+        return new BatchOperation(Action.CREATE, TaskType.of(task), task.getID(), task);
+    }
+
+    // Обновление задачи
+    public static BatchOperation update(Task task) {
+        return new BatchOperation(Action.UPDATE, TaskType.of(task), task.getID(), task);
+    }
+
+    // Удаление задачи
+    public static BatchOperation delete(TaskType taskType, int id) {
+        return new BatchOperation(Action.DELETE, taskType, id, null);
+    }
+}
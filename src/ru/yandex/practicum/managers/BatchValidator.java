@@ -0,0 +1,187 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.exceptions.TaskAlreadyExistsException;
+import ru.yandex.practicum.exceptions.TaskNotFoundException;
+import ru.yandex.practicum.exceptions.TaskOverlapException;
+import ru.yandex.practicum.tasks.Epic;
+import ru.yandex.practicum.tasks.Subtask;
+import ru.yandex.practicum.tasks.Task;
+
+import java.util.*;
+
+// Проверка пакета операций до его применения к трекеру
+// Операции мысленно применяются по очереди: изменения пакета хранятся поверх задач трекера,
+// а задачи трекера не изменяются. Интервалы задач пакета хранятся в отдельном индексе, а интервалы
+// удалённых и заменённых задач трекера исключаются из проверки, поэтому каждая проверка пересечения
+// выполняется за O(log N), а весь пакет из k операций проверяется за O(k log N) без копирования трекера
+class BatchValidator {
+    // Задачи трекера
+    private final Map<Integer, Task> basicTasks;
+    private final Map<Integer, Subtask> subtasks;
+    private final Map<Integer, Epic> epics;
+    // Индекс временных интервалов задач трекера
+    private final TaskTimeIndex timeIndex;
+
+    // Задачи, добавленные, изменённые (значение - новая версия) или удалённые (значение - null) пакетом
+    private final Map<Integer, Task> changedBasicTasks;
+    private final Map<Integer, Subtask> changedSubtasks;
+    private final Map<Integer, Epic> changedEpics;
+    // id подзадач эпиков, изменённых пакетом
+    private final Map<Integer, Set<Integer>> changedEpicSubtaskIDs;
+    // Задачи трекера, интервалы которых освобождены пакетом (сравниваются по ссылке, как в индексе)
+    private final Set<Task> vacatedTasks;
+    // Индекс временных интервалов задач, добавленных пакетом
+    private final TaskTimeIndex batchIndex;
+
+    // Конструктор класса BatchValidator
+    BatchValidator(Map<Integer, Task> basicTasks, Map<Integer, Subtask> subtasks, Map<Integer, Epic> epics,
+                   TaskTimeIndex timeIndex) {
+        this.basicTasks = basicTasks;
+        this.subtasks = subtasks;
+        this.epics = epics;
+        this.timeIndex = timeIndex;
+        changedBasicTasks = new HashMap<>();
+        changedSubtasks = new HashMap<>();
+        changedEpics = new HashMap<>();
+        changedEpicSubtaskIDs = new HashMap<>();
+        vacatedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        batchIndex = new TaskTimeIndex();
+    }
+
+    // Проверить пакет операций (в сообщении об ошибке указывается номер операции, начиная с 1)
+    void validate(List<BatchOperation> operations)
+            throws TaskOverlapException, TaskNotFoundException, TaskAlreadyExistsException {
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                validate(operations.get(i));
+            } catch (TaskOverlapException exception) {
+                throw new TaskOverlapException("Операция " + (i + 1) + ": " + exception.getMessage(), exception);
+            } catch (TaskNotFoundException exception) {
+                throw new TaskNotFoundException("Операция " + (i + 1) + ": " + exception.getMessage(), exception);
+            } catch (TaskAlreadyExistsException exception) {
+                throw new TaskAlreadyExistsException("Операция " + (i + 1) + ": " + exception.getMessage(),
+                        exception);
+            }
+        }
+    }
+
+    // Проверить операцию и учесть её результат
+    // В отличие от методов добавления InMemoryTaskManager (игнорирующих задачу с существующим id, а эпик -
+    // заменяющих), создание задачи с id существующей задачи того же типа отклоняет пакет: иначе операция
+    // была бы указана в ответе как выполненная. Удаление отсутствующей задачи, как и в трекере, ничего не делает
+    private void validate(BatchOperation operation) {
+        int id = operation.id();
+
+        switch (operation.taskType()) {
+            case TASK -> {
+                Task current = find(changedBasicTasks, basicTasks, id);
+                if (operation.action() == BatchOperation.Action.CREATE) {
+                    if (current != null) {
+                        throw new TaskAlreadyExistsException("Задача с id = " + id + " уже существует");
+                    }
+                    occupy(operation.task());
+                    changedBasicTasks.put(id, operation.task());
+                } else if (operation.action() == BatchOperation.Action.UPDATE) {
+                    if (current == null) {
+                        throw new TaskNotFoundException("Задача с id = " + id + " не найдена");
+                    }
+                    vacate(current);
+                    occupy(operation.task());
+                    changedBasicTasks.put(id, operation.task());
+                } else if (operation.action() == BatchOperation.Action.DELETE) {
+                    vacate(current);
+                    changedBasicTasks.put(id, null);
+                }
+            }
+            case SUBTASK -> {
+                Subtask current = find(changedSubtasks, subtasks, id);
+                Subtask subtask = (Subtask) operation.task();
+                if (operation.action() == BatchOperation.Action.CREATE) {
+                    if (current != null) {
+                        throw new TaskAlreadyExistsException("Подзадача с id = " + id + " уже существует");
+                    }
+                    occupy(subtask);
+                    changedSubtasks.put(id, subtask);
+                    moveSubtask(id, null, subtask.getEpicID());
+                } else if (operation.action() == BatchOperation.Action.UPDATE) {
+                    if (current == null) {
+                        throw new TaskNotFoundException("Подзадача с id = " + id + " не найдена");
+                    }
+                    vacate(current);
+                    occupy(subtask);
+                    changedSubtasks.put(id, subtask);
+                    moveSubtask(id, current.getEpicID(), subtask.getEpicID());
+                } else if (operation.action() == BatchOperation.Action.DELETE && current != null) {
+                    vacate(current);
+                    changedSubtasks.put(id, null);
+                    moveSubtask(id, current.getEpicID(), null);
+                }
+            }
+            case EPIC -> {
+                Epic current = find(changedEpics, epics, id);
+                if (operation.action() == BatchOperation.Action.UPDATE && current == null) {
+                    throw new TaskNotFoundException("Эпик с id = " + id + " не найден");
+                }
+                if (operation.action() == BatchOperation.Action.CREATE && current != null) {
+                    throw new TaskAlreadyExistsException("Эпик с id = " + id + " уже существует");
+                }
+                if (operation.action() == BatchOperation.Action.DELETE) {
+                    if (current != null) {
+                        // Вместе с эпиком удаляются его подзадачи
+                        for (Integer subtaskID : getEpicSubtaskIDs(id)) {
+                            vacate(find(changedSubtasks, subtasks, subtaskID));
+                            changedSubtasks.put(subtaskID, null);
+                        }
+                    }
+                    changedEpics.put(id, null);
+                    changedEpicSubtaskIDs.remove(id);
+                } else {
+                    Epic epic = (Epic) operation.task();
+                    changedEpics.put(id, epic);
+                    changedEpicSubtaskIDs.put(id, new LinkedHashSet<>(epic.getSubtaskIDs()));
+                }
+            }
+        }
+    }
+
+    // Найти текущую версию задачи с учётом изменений пакета
+    private static <T extends Task> T find(Map<Integer, T> changed, Map<Integer, T> tasks, int id) {
+        return changed.containsKey(id) ? changed.get(id) : tasks.get(id);
+    }
+
+    // Проверить, что интервал задачи свободен, и занять его
+    private void occupy(Task task) {
+        if (timeIndex.hasOverlapWith(task, vacatedTasks) || batchIndex.hasOverlapWith(task)) {
+            throw new TaskOverlapException("Задача имеет пересечение по времени выполнения с другой задачей");
+        }
+        batchIndex.add(task);
+    }
+
+    // Освободить интервал задачи (задачи пакета удаляются из его индекса, задачи трекера - исключаются)
+    private void vacate(Task task) {
+        if (task == null) {
+            return;
+        }
+        if (changedBasicTasks.get(task.getID()) == task || changedSubtasks.get(task.getID()) == task) {
+            batchIndex.remove(task);
+        } else {
+            vacatedTasks.add(task);
+        }
+    }
+
+    // Перенести подзадачу между эпиками (отсутствующие эпики не изменяются, как и в трекере)
+    private void moveSubtask(int subtaskID, Integer fromEpicID, Integer toEpicID) {
+        if (fromEpicID != null && find(changedEpics, epics, fromEpicID) != null) {
+            getEpicSubtaskIDs(fromEpicID).remove(subtaskID);
+        }
+        if (toEpicID != null && find(changedEpics, epics, toEpicID) != null) {
+            getEpicSubtaskIDs(toEpicID).add(subtaskID);
+        }
+    }
+
+    // Получить изменяемый набор id подзадач эпика с учётом изменений пакета
+    private Set<Integer> getEpicSubtaskIDs(int epicID) {
+        return changedEpicSubtaskIDs.computeIfAbsent(epicID,
+                id -> new LinkedHashSet<>(find(changedEpics, epics, id).getSubtaskIDs()));
+    }
+}
@@ -0,0 +1,104 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskType;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Ограниченный журнал последних изменений задач трекера
+// Присваивает изменениям порядковые номера и хранит не более capacity последних изменений, поэтому клиент,
+// отставший не более чем на capacity изменений, получает только недостающие изменения.
+// Ожидание изменений реализовано на ReentrantLock, а не на мониторе: ожидающие виртуальные потоки
+// не занимают потоки-носители
+class ChangeJournal {
+    // Количество хранимых изменений по умолчанию
+    static final int DEFAULT_CAPACITY = 1024;
+
+    // Максимальное количество хранимых изменений
+    private final int capacity;
+    // Последние изменения
+    private final ArrayDeque<TaskChange> changes;
+    // Блокировка журнала
+    private final ReentrantLock lock;
+    // Условие появления нового изменения
+    private final Condition changed;
+    // Номер последнего изменения
+    private long lastSequence;
+
+    // Конструктор класса ChangeJournal
+    ChangeJournal(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Размер журнала изменений должен быть положительным");
+        }
+        this.capacity = capacity;
+        changes = new ArrayDeque<>();
+        lock = new ReentrantLock();
+        changed = lock.newCondition();
+    }
+
+    // Записать изменение задачи (для удаления task = null) и разбудить ожидающих
+    TaskChange append(TaskChange.Action action, TaskType taskType, int id, Task task) {
+        lock.lock();
+        try {
+            TaskChange change = new TaskChange(++lastSequence, action, taskType, id, task);
+            if (changes.size() == capacity) {
+                changes.removeFirst();
+            }
+            changes.addLast(change);
+            changed.signalAll();
+            return change;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Отметить изменение задач, не описываемое отдельными записями (например, восстановление из файла):
+    // все предыдущие записи становятся недоступны, и клиентам нужно перезагрузить задачи целиком
+    void discard() {
+        lock.lock();
+        try {
+            lastSequence++;
+            changes.clear();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Получить изменения с номером больше since, ожидая их появления не дольше timeout
+    TaskChanges getChangesAfter(long since, Duration timeout) throws InterruptedException {
+        long remainingNanos = timeout.toNanos();
+
+        lock.lock();
+        try {
+            while (since == lastSequence && remainingNanos > 0) {
+                remainingNanos = changed.awaitNanos(remainingNanos);
+            }
+
+            if (since == lastSequence) {
+                return new TaskChanges(lastSequence, false, List.of());
+            }
+            // Номер из будущего (например, от трекера до перезапуска) или изменения вытеснены из журнала
+            long firstSequence = changes.isEmpty() ? lastSequence + 1 : changes.getFirst().sequence();
+            if (since > lastSequence || since < firstSequence - 1) {
+                return new TaskChanges(lastSequence, true, List.of());
+            }
+
+            List<TaskChange> result = new ArrayList<>((int) (lastSequence - since));
+            for (TaskChange change : changes) {
+                if (change.sequence() > since) {
+                    result.add(change);
+                }
+            }
+            return new TaskChanges(lastSequence, false, result);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
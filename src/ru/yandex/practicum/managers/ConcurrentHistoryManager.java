@@ -0,0 +1,152 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Потокобезопасный менеджер истории просмотра задач для большого количества параллельных просмотров
+// Вместо переноса узла в конец списка под общим монитором просмотр только получает номер (из атомарного
+// счётчика) и записывает задачу с этим номером в ConcurrentHashMap по id задачи, поэтому параллельные
+// просмотры разных задач не блокируют друг друга, а дубликаты невозможны. Порядок истории восстанавливается
+// при чтении сортировкой по номерам просмотров; результат кешируется до следующего изменения истории.
+// При ограничении размера лишние (самые давние) просмотры удаляются пакетом, когда их накопится достаточно
+public class ConcurrentHistoryManager implements HistoryManager {
+    // Упорядочивание просмотров от более давнего к более позднему
+    private static final Comparator<View> BY_SEQUENCE = Comparator.comparingLong(View::sequence);
+
+    // Максимальный размер истории
+    private final int maxSize;
+    // Размер, при превышении которого удаляются самые давние просмотры
+    private final int trimThreshold;
+    // Последние просмотры задач по id задачи
+    private final Map<Integer, View> views;
+    // Счётчик номеров просмотров
+    private final AtomicLong sequence;
+    // Количество изменений истории (увеличивается после изменения, см. getHistory)
+    private final LongAdder modifications;
+    // Блокировка удаления давних просмотров (удаление выполняет только один поток)
+    private final ReentrantLock trimLock;
+    // Упорядоченная история по состоянию на указанное количество изменений
+    private volatile Snapshot snapshot;
+
+    // Просмотр задачи: задача в состоянии на момент просмотра и номер просмотра
+    private record View(Task task, long sequence) {
+    }
+
+    // Упорядоченная история и количество изменений, которому она соответствует
+    private record Snapshot(long modifications, List<Task> tasks) {
+    }
+
+    // Конструктор класса ConcurrentHistoryManager с ограничением размера истории
+    public ConcurrentHistoryManager(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Размер истории должен быть положительным");
+        }
+
+        this.maxSize = maxSize;
+        // Давние просмотры удаляются, когда их накопится не меньше половины размера истории (но не меньше 16)
+        this.trimThreshold = maxSize > Integer.MAX_VALUE - Math.max(16, maxSize / 2)
+                ? Integer.MAX_VALUE
+                : maxSize + Math.max(16, maxSize / 2);
+        views = new ConcurrentHashMap<>();
+        sequence = new AtomicLong();
+        modifications = new LongAdder();
+        trimLock = new ReentrantLock();
+        snapshot = new Snapshot(0, List.of());
+    }
+
+    // Конструктор класса ConcurrentHistoryManager (размер истории не ограничен)
+    public ConcurrentHistoryManager() {
+        this(Integer.MAX_VALUE);
+    }
+
+    // Добавить задачу в историю
+    @Override
+    public void addTask(Task task) {
+        // Проверка задачи на null
+        if (task == null) {
+            return;
+        }
+
+        View view = new View(task, sequence.incrementAndGet());
+        // При параллельных просмотрах одной задачи остаётся просмотр с большим номером
+        views.merge(task.getID(), view, (current, added) -> current.sequence() > added.sequence() ? current : added);
+        modifications.increment();
+
+        if (views.size() > trimThreshold && trimLock.tryLock()) {
+            try {
+                trim();
+            } finally {
+                trimLock.unlock();
+            }
+        }
+    }
+
+    // Вернуть список просмотренных задач
+    @Override
+    public List<Task> getHistory() {
+        return new ArrayList<>(getSnapshot());
+    }
+
+    // Вернуть историю только для чтения (снимок, не отражающий последующие изменения истории)
+    @Override
+    public Collection<Task> getHistoryView() {
+        return getSnapshot();
+    }
+
+    // Удалить задачу из истории
+    @Override
+    public void removeTask(int id) {
+        if (views.remove(id) != null) {
+            modifications.increment();
+        }
+    }
+
+    // Получить упорядоченную историю
+    // Количество изменений читается до обхода просмотров, а изменения увеличивают его после записи в views,
+    // поэтому снимок может оказаться новее своего номера, но не старее, и устаревший снимок не используется
+    private List<Task> getSnapshot() {
+        long currentModifications = modifications.sum();
+        Snapshot current = snapshot;
+        if (current.modifications() == currentModifications) {
+            return current.tasks();
+        }
+
+        List<View> ordered = new ArrayList<>(views.values());
+        ordered.sort(BY_SEQUENCE);
+
+        int from = Math.max(0, ordered.size() - maxSize);
+        List<Task> tasks = new ArrayList<>(ordered.size() - from);
+        for (View view : ordered.subList(from, ordered.size())) {
+            tasks.add(view.task());
+        }
+
+        List<Task> result = Collections.unmodifiableList(tasks);
+        snapshot = new Snapshot(currentModifications, result);
+        return result;
+    }
+
+    // Удалить самые давние просмотры сверх максимального размера истории
+    // Просмотр удаляется, только если задача не была просмотрена повторно за время удаления
+    private void trim() {
+        List<View> ordered = new ArrayList<>(views.values());
+        if (ordered.size() <= maxSize) {
+            return;
+        }
+
+        ordered.sort(BY_SEQUENCE);
+        for (View view : ordered.subList(0, ordered.size() - maxSize)) {
+            views.remove(view.task().getID(), view);
+        }
+        modifications.increment();
+    }
+}
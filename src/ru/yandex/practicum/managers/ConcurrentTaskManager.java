@@ -0,0 +1,304 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Потокобезопасный трекер задач
+// Оборачивает другой трекер и защищает его блокировкой чтения-записи: операции чтения выполняются
+// параллельно, а изменяющие операции (вместе с проверкой пересечений и пересчётом эпиков) - атомарно.
+// Получение задачи по id изменяет только историю просмотра, поэтому, если история оборачиваемого трекера
+// потокобезопасна (см. ConcurrentHistoryManager и SynchronizedHistoryManager), выполняется под блокировкой
+// чтения, иначе - записи
+// Представления коллекций возвращаются в виде неизменяемых снимков, которые создаются при первом обращении
+// после изменения коллекции, поэтому повторные чтения между изменениями обходятся без копирования
+public class ConcurrentTaskManager implements TaskManager {
+    // Оборачиваемый трекер задач
+    private final TaskManager delegate;
+    // Блокировка для получения задач по id (изменяет историю просмотра)
+    private final Lock viewLock;
+    // Блокировка для операций чтения
+    private final Lock readLock;
+    // Блокировка для изменяющих операций
+    private final Lock writeLock;
+    // Снимки коллекций трекера
+    private final Snapshot<Task> basicTasksSnapshot;
+    private final Snapshot<Subtask> subtasksSnapshot;
+    private final Snapshot<Epic> epicsSnapshot;
+    private final Snapshot<Task> prioritizedTasksSnapshot;
+
+    // Конструктор класса ConcurrentTaskManager
+    public ConcurrentTaskManager(TaskManager delegate, boolean threadSafeHistory) {
+        this.delegate = delegate;
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        readLock = lock.readLock();
+        writeLock = lock.writeLock();
+        viewLock = threadSafeHistory ? readLock : writeLock;
+        basicTasksSnapshot = new Snapshot<>(TaskCollection.BASIC_TASKS, delegate::getBasicTasksView);
+        subtasksSnapshot = new Snapshot<>(TaskCollection.SUBTASKS, delegate::getSubtasksView);
+        epicsSnapshot = new Snapshot<>(TaskCollection.EPICS, delegate::getEpicsView);
+        prioritizedTasksSnapshot = new Snapshot<>(TaskCollection.PRIORITIZED, delegate::getPrioritizedTasksView);
+    }
+
+    // Конструктор класса ConcurrentTaskManager (история оборачиваемого трекера считается непотокобезопасной)
+    public ConcurrentTaskManager(TaskManager delegate) {
+        this(delegate, false);
+    }
+
+    // Конструктор класса ConcurrentTaskManager по умолчанию
+    public ConcurrentTaskManager() {
+        this(new InMemoryTaskManager(Managers.getConcurrentHistoryManager()), true);
+    }
+
+    @Override
+    public List<Task> getAllBasicTasks() {
+        return read(delegate::getAllBasicTasks);
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return read(delegate::getAllSubtasks);
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        return read(delegate::getAllEpics);
+    }
+
+    @Override
+    public void removeAllBasicTasks() {
+        write(delegate::removeAllBasicTasks);
+    }
+
+    @Override
+    public void removeAllSubtasks() {
+        write(delegate::removeAllSubtasks);
+    }
+
+    @Override
+    public void removeAllEpics() {
+        write(delegate::removeAllEpics);
+    }
+
+    @Override
+    public Task getBasicTaskById(int id) {
+        return locked(viewLock, () -> delegate.getBasicTaskById(id));
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        return locked(viewLock, () -> delegate.getSubtaskById(id));
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        return locked(viewLock, () -> delegate.getEpicById(id));
+    }
+
+    @Override
+    public Task findBasicTaskById(int id) {
+        return read(() -> delegate.findBasicTaskById(id));
+    }
+
+    @Override
+    public Subtask findSubtaskById(int id) {
+        return read(() -> delegate.findSubtaskById(id));
+    }
+
+    @Override
+    public Epic findEpicById(int id) {
+        return read(() -> delegate.findEpicById(id));
+    }
+
+    @Override
+    public void addBasicTask(Task task) {
+        write(() -> delegate.addBasicTask(task));
+    }
+
+    @Override
+    public void addSubtask(Subtask subtask) {
+        write(() -> delegate.addSubtask(subtask));
+    }
+
+    @Override
+    public void addEpic(Epic epic) {
+        write(() -> delegate.addEpic(epic));
+    }
+
+    @Override
+    public void updateBasicTask(Task updatedTask) {
+        write(() -> delegate.updateBasicTask(updatedTask));
+    }
+
+    @Override
+    public void updateSubtask(Subtask updatedSubtask) {
+        write(() -> delegate.updateSubtask(updatedSubtask));
+    }
+
+    @Override
+    public void updateEpic(Epic updatedEpic) {
+        write(() -> delegate.updateEpic(updatedEpic));
+    }
+
+    @Override
+    public void removeBasicTaskById(int id) {
+        write(() -> delegate.removeBasicTaskById(id));
+    }
+
+    @Override
+    public void removeSubtaskById(int id) {
+        write(() -> delegate.removeSubtaskById(id));
+    }
+
+    @Override
+    public void removeEpicById(int id) {
+        write(() -> delegate.removeEpicById(id));
+    }
+
+    @Override
+    public List<Subtask> getAllEpicSubtasks(Epic epic) {
+        return read(() -> delegate.getAllEpicSubtasks(epic));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return read(delegate::getHistory);
+    }
+
+    @Override
+    public int nextId() {
+        return locked(writeLock, delegate::nextId);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return read(delegate::getPrioritizedTasks);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, PriorityCursor after, int limit) {
+        return read(() -> delegate.getPrioritizedTasks(from, to, after, limit));
+    }
+
+    @Override
+    public Collection<Task> getBasicTasksView() {
+        return read(basicTasksSnapshot::get);
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        return read(subtasksSnapshot::get);
+    }
+
+    @Override
+    public Collection<Epic> getEpicsView() {
+        return read(epicsSnapshot::get);
+    }
+
+    @Override
+    public Collection<Task> getPrioritizedTasksView() {
+        return read(prioritizedTasksSnapshot::get);
+    }
+
+    // История изменяется при каждом просмотре задачи, поэтому её снимок не кешируется
+    @Override
+    public Collection<Task> getHistoryView() {
+        return Collections.unmodifiableList(locked(viewLock, delegate::getHistory));
+    }
+
+    @Override
+    public void applyBatch(List<BatchOperation> operations) {
+        write(() -> delegate.applyBatch(operations));
+    }
+
+    // Слушатели вызываются оборачиваемым трекером под блокировкой записи, поэтому получают изменения по порядку
+    @Override
+    public void addChangeListener(TaskChangeListener listener) {
+        delegate.addChangeListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(TaskChangeListener listener) {
+        delegate.removeChangeListener(listener);
+    }
+
+    // Ожидание изменений не должно удерживать блокировку чтения (иначе изменения не смогут произойти),
+    // поэтому журнал изменений читается без блокировки (он потокобезопасен)
+    @Override
+    public TaskChanges getChanges(long since, Duration timeout) throws InterruptedException {
+        return delegate.getChanges(since, timeout);
+    }
+
+    // Номера версий читаются без блокировки (в InMemoryTaskManager это атомарные счётчики)
+    @Override
+    public long getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public long getVersion(TaskCollection collection) {
+        return delegate.getVersion(collection);
+    }
+
+    // Неизменяемый снимок коллекции оборачиваемого трекера, действительный до следующего изменения коллекции
+    // Создаётся под блокировкой чтения, поэтому сам снимок защищён собственным монитором
+    private final class Snapshot<T> {
+        // Коллекция трекера, по номеру версии которой определяется актуальность снимка
+        private final TaskCollection collection;
+        // Источник элементов снимка
+        private final Supplier<Collection<T>> source;
+        // Элементы снимка
+        private List<T> items;
+        // Версия трекера, которой соответствует снимок
+        private long itemsVersion = -1;
+
+        // Конструктор класса Snapshot
+        private Snapshot(TaskCollection collection, Supplier<Collection<T>> source) {
+            this.collection = collection;
+            this.source = source;
+        }
+
+        // Получить актуальный снимок
+        private synchronized List<T> get() {
+            long version = delegate.getVersion(collection);
+            if (itemsVersion != version) {
+                items = List.copyOf(source.get());
+                itemsVersion = version;
+            }
+            return items;
+        }
+    }
+
+    // Выполнить операцию чтения под блокировкой чтения
+    private <R> R read(Supplier<R> operation) {
+        return locked(readLock, operation);
+    }
+
+    // Выполнить операцию под указанной блокировкой
+    private static <R> R locked(Lock lock, Supplier<R> operation) {
+        lock.lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Выполнить изменяющую операцию под блокировкой записи
+    private void write(Runnable operation) {
+        writeLock.lock();
+        try {
+            operation.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.Epic;
+import ru.yandex.practicum.tasks.Subtask;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Расчётные параметры эпика, обновляемые инкрементально при изменении его подзадач
+// Статус определяется по счётчикам статусов, продолжительность - по накопленной сумме,
+// а даты начала и окончания - по упорядоченным мультимножествам дат подзадач,
+// поэтому изменение подзадачи выполняется за O(log k), где k - количество подзадач эпика.
+// Массив id подзадач не изменяется после создания и передаётся в создаваемые эпики без копирования:
+// при изменении подзадачи без переноса в другой эпик он остаётся прежним, а при добавлении
+// и удалении подзадачи заменяется новым массивом
+class EpicAggregate {
+    // id подзадач эпика в порядке добавления (общий с созданными эпиками, не изменяется)
+    private int[] subtaskIDs;
+    // Количество подзадач в статусе NEW
+    private int newCount;
+    // Количество подзадач в статусе DONE
+    private int doneCount;
+    // Суммарная продолжительность подзадач
+    private Duration duration;
+    // Даты начала подзадач с количеством подзадач, начинающихся в каждую из них
+    private final NavigableMap<LocalDateTime, Integer> startTimes;
+    // Даты окончания подзадач с количеством подзадач, завершающихся в каждую из них
+    private final NavigableMap<LocalDateTime, Integer> endTimes;
+
+    // Конструктор класса EpicAggregate
+    // subtasks - подзадачи эпика (без повторов)
+    EpicAggregate(List<Subtask> subtasks) {
+        subtaskIDs = new int[subtasks.size()];
+        duration = Duration.ZERO;
+        startTimes = new TreeMap<>();
+        endTimes = new TreeMap<>();
+
+        for (int i = 0; i < subtasks.size(); i++) {
+            subtaskIDs[i] = subtasks.get(i).getID();
+            include(subtasks.get(i));
+        }
+    }
+
+    // Учесть новую подзадачу эпика в его параметрах
+    void add(Subtask subtask) {
+        subtaskIDs = Arrays.copyOf(subtaskIDs, subtaskIDs.length + 1);
+        subtaskIDs[subtaskIDs.length - 1] = subtask.getID();
+        include(subtask);
+    }
+
+    // Исключить подзадачу из параметров эпика (передаётся тот же объект, что был добавлен)
+    void remove(Subtask subtask) {
+        int index = indexOf(subtask.getID());
+        if (index < 0) {
+            return;
+        }
+
+        int[] remainingIDs = new int[subtaskIDs.length - 1];
+        System.arraycopy(subtaskIDs, 0, remainingIDs, 0, index);
+        System.arraycopy(subtaskIDs, index + 1, remainingIDs, index, remainingIDs.length - index);
+        subtaskIDs = remainingIDs;
+        exclude(subtask);
+    }
+
+    // Заменить версию подзадачи эпика (id подзадачи и её место в эпике не меняются)
+    void replace(Subtask oldSubtask, Subtask newSubtask) {
+        exclude(oldSubtask);
+        include(newSubtask);
+    }
+
+    // Создать эпик с текущими расчётными параметрами (массив id подзадач не копируется)
+    Epic toEpic(Epic epic) {
+        return new Epic(epic.getID(), epic.getName(), epic.getDescription(), getStatus(), subtaskIDs,
+                startTimes.isEmpty() ? null : startTimes.firstKey(), duration,
+                endTimes.isEmpty() ? null : endTimes.lastKey());
+    }
+
+    // Пересчитать параметры эпика за один проход по id его подзадач (подзадачи, отсутствующие в subtasks,
+    // пропускаются). Статус, даты и продолжительность накапливаются в локальных переменных,
+    // без промежуточных коллекций и повторных обращений к subtasks
+    static Epic recalculate(Epic epic, List<Integer> subtaskIDs, Map<Integer, Subtask> subtasks) {
+        int[] presentIDs = new int[subtaskIDs.size()];
+        int presentCount = 0;
+        int newCount = 0;
+        int doneCount = 0;
+        long durationSeconds = 0;
+        long durationNanos = 0;
+        LocalDateTime startTime = null;
+        LocalDateTime endTime = null;
+
+        for (Integer subtaskID : subtaskIDs) {
+            Subtask subtask = subtasks.get(subtaskID);
+            if (subtask == null) {
+                continue;
+            }
+            presentIDs[presentCount++] = subtaskID;
+
+            if (subtask.getStatus() == TaskStatus.NEW) {
+                newCount++;
+            } else if (subtask.getStatus() == TaskStatus.DONE) {
+                doneCount++;
+            }
+
+            Duration subtaskDuration = subtask.getDuration();
+            if (subtaskDuration != null) {
+                durationSeconds += subtaskDuration.getSeconds();
+                durationNanos += subtaskDuration.getNano();
+            }
+
+            LocalDateTime subtaskStart = subtask.getStartTime().orElse(null);
+            if (subtaskStart == null) {
+                continue;
+            }
+            if (startTime == null || subtaskStart.isBefore(startTime)) {
+                startTime = subtaskStart;
+            }
+            if (subtaskDuration != null) {
+                LocalDateTime subtaskEnd = subtaskStart.plus(subtaskDuration);
+                if (endTime == null || subtaskEnd.isAfter(endTime)) {
+                    endTime = subtaskEnd;
+                }
+            }
+        }
+
+        return new Epic(epic.getID(), epic.getName(), epic.getDescription(),
+                getStatus(presentCount, newCount, doneCount), Arrays.copyOf(presentIDs, presentCount), startTime,
+                Duration.ofSeconds(durationSeconds, durationNanos), endTime);
+    }
+
+    // Учесть статус, продолжительность и даты подзадачи
+    private void include(Subtask subtask) {
+        if (subtask.getStatus() == TaskStatus.NEW) {
+            newCount++;
+        } else if (subtask.getStatus() == TaskStatus.DONE) {
+            doneCount++;
+        }
+        if (subtask.getDuration() != null) {
+            duration = duration.plus(subtask.getDuration());
+        }
+        subtask.getStartTime().ifPresent(startTime -> startTimes.merge(startTime, 1, Integer::sum));
+        subtask.getEndTime().ifPresent(endTime -> endTimes.merge(endTime, 1, Integer::sum));
+    }
+
+    // Исключить статус, продолжительность и даты подзадачи
+    private void exclude(Subtask subtask) {
+        if (subtask.getStatus() == TaskStatus.NEW) {
+            newCount--;
+        } else if (subtask.getStatus() == TaskStatus.DONE) {
+            doneCount--;
+        }
+        if (subtask.getDuration() != null) {
+            duration = duration.minus(subtask.getDuration());
+        }
+        subtask.getStartTime().ifPresent(startTime -> decrement(startTimes, startTime));
+        subtask.getEndTime().ifPresent(endTime -> decrement(endTimes, endTime));
+    }
+
+    // Позиция подзадачи в эпике (-1, если подзадача не входит в эпик)
+    private int indexOf(int subtaskID) {
+        for (int i = 0; i < subtaskIDs.length; i++) {
+            if (subtaskIDs[i] == subtaskID) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Статус эпика на основе статусов его подзадач
+    private TaskStatus getStatus() {
+        return getStatus(subtaskIDs.length, newCount, doneCount);
+    }
+
+    // Статус эпика по количеству подзадач: всего, в статусе NEW и в статусе DONE
+    private static TaskStatus getStatus(int count, int newCount, int doneCount) {
+        if (newCount == count) {
+            return TaskStatus.NEW;
+        } else if (doneCount == count) {
+            return TaskStatus.DONE;
+        } else {
+            return TaskStatus.IN_PROGRESS;
+        }
+    }
+
+    // Уменьшить количество подзадач с указанной датой
+    private static void decrement(Map<LocalDateTime, Integer> times, LocalDateTime time) {
+        times.computeIfPresent(time, (key, count) -> count == 1 ? null : count - 1);
+    }
+}
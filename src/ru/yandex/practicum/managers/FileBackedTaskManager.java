@@ -1,157 +1,358 @@
 package ru.yandex.practicum.managers;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
 
 import ru.yandex.practicum.exceptions.*;
 import ru.yandex.practicum.tasks.*;
 import ru.yandex.practicum.utils.TaskParser;
 
-public class FileBackedTaskManager extends InMemoryTaskManager {
+public class FileBackedTaskManager extends InMemoryTaskManager implements Closeable {
 
     // Файл автосохранения
     private final File autoSaveFile;
+    // Настройки сохранения
+    private final SaveSettings saveSettings;
+    // Монитор, защищающий состояние трекера при чтении его фоновым потоком сохранения
+    private final Object stateLock = new Object();
+    // Фоновый поток сохранения (null при синхронном сохранении без периодического сброса на диск)
+    private final ScheduledExecutorService saveExecutor;
+
+    // Количество изменений, ещё не записанных в файл (защищено stateLock)
+    private int pendingChanges;
+    // Запланирована ли фоновая запись (защищено stateLock)
+    private boolean saveScheduled;
+    // Были ли записи в файл после последнего сброса на диск
+    private volatile boolean unsyncedWrites;
+    // Ошибка, возникшая при фоновом сохранении
+    private volatile ManagerSaveException saveFailure;
+    // Глубина вложенности изменяющих операций (задачи сохраняются только после операции верхнего уровня)
+    private int operationDepth;
 
     // Конструктор класса FileBackedTaskManager
-    public FileBackedTaskManager(File autoSaveFile) {
+    public FileBackedTaskManager(File autoSaveFile, SaveSettings saveSettings) {
         super();
         this.autoSaveFile = autoSaveFile;
+        this.saveSettings = saveSettings;
+
+        if (saveSettings.asynchronous() || saveSettings.periodicFsync()) {
+            saveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "task-manager-save");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            saveExecutor = null;
+        }
+
+        if (saveSettings.periodicFsync()) {
+            long interval = saveSettings.fsyncInterval().toMillis();
+            saveExecutor.scheduleAtFixedRate(this::syncIfNeeded, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Конструктор класса FileBackedTaskManager
+    public FileBackedTaskManager(File autoSaveFile) {
+        this(autoSaveFile, SaveSettings.synchronous());
     }
 
     // Сохранение всех задач в файл
+    // При фоновом сохранении изменения накапливаются и записываются одним пакетом
+    // Изменение учитывается до проброса ошибки прошлого сохранения, чтобы оно не потерялось при следующей записи
     private void save() {
-        try (Writer writer = new FileWriter(autoSaveFile, StandardCharsets.UTF_8)) {
-            writer.write(TaskParser.HEADER + "\n");
+        synchronized (stateLock) {
+            pendingChanges++;
+
+            if (saveSettings.asynchronous()) {
+                if (pendingChanges == saveSettings.maxBatchSize()) {
+                    // Пакет заполнен - записываем без ожидания
+                    saveExecutor.execute(this::writePendingChanges);
+                } else if (!saveScheduled) {
+                    saveScheduled = true;
+                    saveExecutor.schedule(this::writePendingChanges, saveSettings.maxDelay().toMillis(),
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+        }
 
+        if (!saveSettings.asynchronous()) {
+            writePendingChanges();
+        }
+        throwIfSaveFailed();
+    }
+
+    // Записать в файл и сбросить на диск все накопленные изменения
+    // Возвращает управление только после того, как изменения гарантированно сохранены
+    public void flush() {
+        if (saveExecutor == null) {
+            writePendingChanges();
+            throwIfSaveFailed();
+            sync();
+            return;
+        }
+
+        try {
+            saveExecutor.submit(() -> {
+                writePendingChanges();
+                sync();
+            }).get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ManagerSaveException("Сохранение файла было прервано", exception);
+        } catch (ExecutionException exception) {
+            throw new ManagerSaveException("Ошибка при сохранении файла. " + exception.getCause().getMessage(),
+                    exception.getCause());
+        } catch (RejectedExecutionException exception) {
+            throw new ManagerSaveException("Трекер закрыт", exception);
+        }
+
+        throwIfSaveFailed();
+    }
+
+    // Сохранить накопленные изменения и остановить фоновый поток сохранения
+    @Override
+    public void close() {
+        if (saveExecutor == null || saveExecutor.isShutdown()) {
+            return;
+        }
+
+        try {
+            flush();
+        } finally {
+            saveExecutor.shutdown();
+        }
+    }
+
+    // Записать накопленные изменения (при фоновом сохранении выполняется в фоновом потоке)
+    // Если запись не удалась, изменения остаются накопленными и будут записаны следующей записью или flush()
+    private void writePendingChanges() {
+        String content;
+        int writtenChanges;
+        synchronized (stateLock) {
+            saveScheduled = false;
+            if (pendingChanges == 0) {
+                return;
+            }
+            writtenChanges = pendingChanges;
+            pendingChanges = 0;
+            content = renderTasks();
+        }
+
+        try {
+            writeToFile(content);
+        } catch (ManagerSaveException exception) {
+            synchronized (stateLock) {
+                pendingChanges += writtenChanges;
+            }
+            saveFailure = exception;
+        }
+    }
+
+    // Сформировать содержимое файла со всеми задачами
+    private String renderTasks() {
+        StringBuilder content = new StringBuilder(TaskParser.HEADER).append("\n");
+
+        synchronized (stateLock) {
             List<Task> allTasks = new ArrayList<>();
             allTasks.addAll(getAllBasicTasks());
             allTasks.addAll(getAllEpics());
             allTasks.addAll(getAllSubtasks());
 
             for (Task task : allTasks) {
-                writer.write(task.toString() + "\n");
+                content.append(task.toString()).append("\n");
             }
+        }
+
+        return content.toString();
+    }
+
+    // Записать содержимое в файл автосохранения
+    private void writeToFile(String content) {
+        try (Writer writer = new FileWriter(autoSaveFile, StandardCharsets.UTF_8)) {
+            writer.write(content);
         } catch (IOException exception) {
             throw new ManagerSaveException("Ошибка при сохранении файла. " + exception.getMessage(), exception);
         }
+
+        unsyncedWrites = true;
+        if (saveSettings.fsyncOnEveryCommit()) {
+            sync();
+        }
+    }
+
+    // Сбросить файл автосохранения на диск, если в него что-то записывалось
+    private void syncIfNeeded() {
+        if (!unsyncedWrites) {
+            return;
+        }
+
+        try {
+            sync();
+        } catch (ManagerSaveException exception) {
+            saveFailure = exception;
+        }
+    }
+
+    // Сбросить файл автосохранения на диск
+    private void sync() {
+        if (!autoSaveFile.exists()) {
+            return;
+        }
+
+        unsyncedWrites = false;
+        try (FileChannel channel = FileChannel.open(autoSaveFile.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        } catch (IOException exception) {
+            unsyncedWrites = true;
+            throw new ManagerSaveException("Ошибка при сбросе файла на диск. " + exception.getMessage(), exception);
+        }
+    }
+
+    // Пробросить ошибку, возникшую при фоновом сохранении
+    private void throwIfSaveFailed() {
+        ManagerSaveException failure = saveFailure;
+        if (failure != null) {
+            saveFailure = null;
+            throw failure;
+        }
+    }
+
+    // Выполнить изменение трекера и, если операция не является вложенной, сохранить задачи в файл
+    private void saveAfter(Runnable operation) {
+        synchronized (stateLock) {
+            operationDepth++;
+            try {
+                operation.run();
+            } finally {
+                operationDepth--;
+            }
+
+            if (operationDepth > 0) {
+                return;
+            }
+        }
+        save();
     }
 
     // Создать трекер, загрузив задачи из файла
-    public static FileBackedTaskManager loadFromFile(File fromFile, File autoSaveFile) {
-        FileBackedTaskManager manager = new FileBackedTaskManager(autoSaveFile);
+    public static FileBackedTaskManager loadFromFile(File fromFile, File autoSaveFile, SaveSettings saveSettings) {
+        FileBackedTaskManager manager = new FileBackedTaskManager(autoSaveFile, saveSettings);
         loadTasksFromFile(manager, fromFile);
 
         return manager;
     }
 
+    // Создать трекер, загрузив задачи из файла
+    public static FileBackedTaskManager loadFromFile(File fromFile, File autoSaveFile) {
+        return loadFromFile(fromFile, autoSaveFile, SaveSettings.synchronous());
+    }
+
     // Загрузить в трекер задачи из файла
+    // Файл сначала разбирается целиком, затем задачи восстанавливаются за один проход
+    // и сохраняются в файл автосохранения один раз (а не после каждой строки)
     private static void loadTasksFromFile(FileBackedTaskManager manager, File fromFile) {
-        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(fromFile, StandardCharsets.UTF_8))) {
-            while (bufferedReader.ready()) {
-                String line = bufferedReader.readLine();
+        List<Task> parsedTasks = new ArrayList<>();
 
+        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(fromFile, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
                 if (line.isBlank() || line.startsWith("id")) {
                     continue;
                 }
 
-                Task parsedTask = TaskParser.parse(line);
-
-                if (parsedTask instanceof Epic epic) {
-                    manager.addEpic(epic);
-                } else if (parsedTask instanceof Subtask subtask) {
-                    manager.addSubtask(subtask);
-                } else {
-                    manager.addBasicTask(parsedTask);
-                }
+                parsedTasks.add(TaskParser.parse(line));
             }
         } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException exception) {
             throw new ManagerLoadException("Ошибка при чтении файла. " + exception.getMessage(), exception);
         }
+
+        if (parsedTasks.isEmpty()) {
+            return;
+        }
+
+        manager.saveAfter(() -> manager.restoreTasks(parsedTasks));
     }
 
     // Добавление новой задачи (обычной)
     @Override
     public void addBasicTask(Task task) {
-        super.addBasicTask(task);
-        save();
+        saveAfter(() -> super.addBasicTask(task));
     }
 
     // Добавление новой поздадачи
     @Override
     public void addSubtask(Subtask subtask) {
-        super.addSubtask(subtask);
-        save();
+        saveAfter(() -> super.addSubtask(subtask));
     }
 
     // Добавление нового эпика
     @Override
     public void addEpic(Epic epic) {
-        super.addEpic(epic);
-        save();
+        saveAfter(() -> super.addEpic(epic));
     }
 
     // Обновление задачи (обычной)
     @Override
     public void updateBasicTask(Task updatedTask) {
-        super.updateBasicTask(updatedTask);
-        save();
+        saveAfter(() -> super.updateBasicTask(updatedTask));
     }
 
     // Обновление подзадачи
     @Override
     public void updateSubtask(Subtask updatedSubtask) {
-        super.updateSubtask(updatedSubtask);
-        save();
+        saveAfter(() -> super.updateSubtask(updatedSubtask));
     }
 
     // Обновление эпика
     @Override
     public void updateEpic(Epic updatedEpic) {
-        super.updateEpic(updatedEpic);
-        save();
+        saveAfter(() -> super.updateEpic(updatedEpic));
     }
 
     @Override
     public void removeBasicTaskById(int id) {
-        super.removeBasicTaskById(id);
-        save();
+        saveAfter(() -> super.removeBasicTaskById(id));
     }
 
     @Override
     public void removeSubtaskById(int id) {
-        super.removeSubtaskById(id);
-        save();
+        saveAfter(() -> super.removeSubtaskById(id));
     }
 
     @Override
     public void removeEpicById(int id) {
-        super.removeEpicById(id);
-        save();
+        saveAfter(() -> super.removeEpicById(id));
+    }
+
+    // Применение пакета операций (задачи сохраняются в файл один раз после применения всего пакета)
+    @Override
+    public void applyBatch(List<BatchOperation> operations) {
+        saveAfter(() -> super.applyBatch(operations));
     }
 
     // Удаление всех задач (обычных)
     @Override
     public void removeAllBasicTasks() {
-        super.removeAllBasicTasks();
-        save();
+        saveAfter(super::removeAllBasicTasks);
     }
 
     // Удаление всех подзадач
     @Override
     public void removeAllSubtasks() {
-        super.removeAllSubtasks();
-        save();
+        saveAfter(super::removeAllSubtasks);
     }
 
     // Удаление всех эпиков
     @Override
     public void removeAllEpics() {
-        super.removeAllEpics();
-        save();
+        saveAfter(super::removeAllEpics);
     }
 
     // Пользовательский сценарий
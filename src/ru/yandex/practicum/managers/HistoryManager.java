@@ -2,6 +2,7 @@ package ru.yandex.practicum.managers;
 
 import ru.yandex.practicum.tasks.*;
 
+import java.util.Collection;
 import java.util.List;
 
 // Интерфейс для предоставления функциональности управления историей просмотра задач
@@ -11,5 +12,8 @@ public interface HistoryManager {
 
     List<Task> getHistory();
 
+    // История просмотра только для чтения без копирования в новый список
+    Collection<Task> getHistoryView();
+
     void removeTask(int id);
 }
@@ -2,23 +2,37 @@ package ru.yandex.practicum.managers;
 
 import ru.yandex.practicum.tasks.Task;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 // Класс для управления историей просмотра задач
+// Размер истории может быть ограничен: при переполнении вытесняется самый давний просмотр (голова списка),
+// что выполняется за O(1) и не даёт истории расти вместе с количеством просмотренных задач
 public class InMemoryHistoryManager implements HistoryManager {
+    // Максимальный размер истории
+    private final int maxSize;
     // Первый элемент в связном списке задач
     private Node<Task> head;
     // Последний элемент в связном списке задач
     private Node<Task> tail;
     // Мапа с id задач и соответствующими узлами
     private final Map<Integer, Node<Task>> nodes;
+    // Представление истории только для чтения
+    private final Collection<Task> historyView;
 
-    // Конструктор класса InMemoryHistoryManager
-    public InMemoryHistoryManager() {
+    // Конструктор класса InMemoryHistoryManager с ограничением размера истории
+    public InMemoryHistoryManager(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Размер истории должен быть положительным");
+        }
+
+        this.maxSize = maxSize;
         nodes = new HashMap<>();
+        historyView = new HistoryView();
+    }
+
+    // Конструктор класса InMemoryHistoryManager (размер истории не ограничен)
+    public InMemoryHistoryManager() {
+        this(Integer.MAX_VALUE);
     }
 
     // Добавить задачу в список
@@ -35,11 +49,17 @@ public class InMemoryHistoryManager implements HistoryManager {
             removeNode(nodeToRemove);
         }
 
-        // Создаём новый узел в конце связного списка и кладём в него копию задачи
-        Node<Task> node = linkLast(task.copy());
+        // Создаём новый узел в конце связного списка и кладём в него задачу
+        // (задачи неизменяемы, поэтому в истории остаётся состояние задачи на момент просмотра)
+        Node<Task> node = linkLast(task);
 
         // Добавляем (обновляем) узел в мапу
         nodes.put(task.getID(), node);
+
+        // Вытесняем самый давний просмотр, если история переполнена
+        if (nodes.size() > maxSize) {
+            removeTask(head.getData().getID());
+        }
     }
 
     // Вернуть список просмотренных задач
@@ -48,6 +68,12 @@ public class InMemoryHistoryManager implements HistoryManager {
         return getTasks();
     }
 
+    // Вернуть представление истории только для чтения (отражает последующие изменения истории)
+    @Override
+    public Collection<Task> getHistoryView() {
+        return historyView;
+    }
+
     // Удалить задачу из истории
     @Override
     public void removeTask(int id) {
@@ -59,6 +85,38 @@ public class InMemoryHistoryManager implements HistoryManager {
         removeNode(nodes.remove(id));
     }
 
+    // Представление истории, обходящее связный список без копирования
+    private class HistoryView extends AbstractCollection<Task> {
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<>() {
+                // Следующий узел
+                private Node<Task> next = head;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Task next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+
+                    Task task = next.getData();
+                    next = next.getNext();
+                    return task;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return nodes.size();
+        }
+    }
+
     // Узел связного списка
     private static class Node<T> {
         // Объект, который хранится в узле
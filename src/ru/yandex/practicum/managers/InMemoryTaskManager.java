@@ -1,5 +1,6 @@
 package ru.yandex.practicum.managers;
 
+import ru.yandex.practicum.exceptions.TaskAlreadyExistsException;
 import ru.yandex.practicum.exceptions.TaskNotFoundException;
 import ru.yandex.practicum.exceptions.TaskOverlapException;
 import ru.yandex.practicum.tasks.*;
@@ -7,6 +8,9 @@ import ru.yandex.practicum.tasks.*;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
 
 // Класс для описания трекера задач
@@ -25,7 +29,28 @@ public class InMemoryTaskManager implements TaskManager {
     private final HistoryManager historyManager;
 
     // Приоритезированное по дате начала множество задач и подзадач
-    private final Set<Task> prioritySet;
+    private final NavigableSet<Task> prioritySet;
+    // Индекс временных интервалов задач и подзадач для проверки пересечений
+    private final TaskTimeIndex timeIndex;
+    // Инкрементально обновляемые расчётные параметры эпиков (создаются при первом изменении подзадач эпика)
+    private final Map<Integer, EpicAggregate> epicAggregates;
+
+    // Представления коллекций трекера только для чтения (отражают последующие изменения трекера,
+    // поэтому не должны обходиться одновременно с изменением трекера)
+    private final Collection<Task> basicTasksView;
+    private final Collection<Subtask> subtasksView;
+    private final Collection<Epic> epicsView;
+    private final Collection<Task> prioritizedTasksView;
+
+    // Номера версий коллекций трекера (по порядковому номеру TaskCollection)
+    private final AtomicLongArray versions;
+    // Общий номер версии трекера
+    private final AtomicLong version;
+
+    // Слушатели изменений задач
+    private final List<TaskChangeListener> changeListeners;
+    // Журнал последних изменений задач
+    private final ChangeJournal changeJournal;
 
     // Конструктор класса InMemoryTaskManager
     public InMemoryTaskManager(HistoryManager historyManager) {
@@ -33,9 +58,22 @@ public class InMemoryTaskManager implements TaskManager {
         epics = new HashMap<>();
         subtasks = new HashMap<>();
         globalID = 0;
-        prioritySet = new TreeSet<>(Comparator.comparing(task -> task.getStartTime().orElse(null),
-                Comparator.nullsFirst(Comparator.naturalOrder())));
+        // id и тип используются для различения задач с одинаковой датой начала
+        // (id задачи и подзадачи могут совпадать)
+        prioritySet = new TreeSet<>(Comparator.comparing((Task task) -> task.getStartTime().orElse(null),
+                Comparator.nullsFirst(Comparator.naturalOrder())).thenComparingInt(Task::getID)
+                .thenComparing(TaskType::of));
+        timeIndex = new TaskTimeIndex();
+        epicAggregates = new HashMap<>();
         this.historyManager = historyManager;
+        basicTasksView = Collections.unmodifiableCollection(basicTasks.values());
+        subtasksView = Collections.unmodifiableCollection(subtasks.values());
+        epicsView = Collections.unmodifiableCollection(epics.values());
+        prioritizedTasksView = Collections.unmodifiableNavigableSet(prioritySet);
+        versions = new AtomicLongArray(TaskCollection.values().length);
+        version = new AtomicLong();
+        changeListeners = new CopyOnWriteArrayList<>();
+        changeJournal = new ChangeJournal(ChangeJournal.DEFAULT_CAPACITY);
     }
 
     // Конструктор класса InMemoryTaskManager по умолчанию
@@ -70,10 +108,13 @@ public class InMemoryTaskManager implements TaskManager {
     // Удаление всех задач (обычных)
     @Override
     public void removeAllBasicTasks() {
+        markModified(TaskCollection.BASIC_TASKS, TaskCollection.PRIORITIZED, TaskCollection.HISTORY);
         // Удаляем все задачи из истории
         basicTasks.keySet().forEach(historyManager::removeTask);
-        // Удаляем все задачи из множества
-        prioritySet.removeAll(basicTasks.values());
+        // Удаляем все задачи из множества и из индекса
+        basicTasks.values().forEach(this::removeFromPriority);
+        // Сообщаем об удалении задач
+        basicTasks.values().forEach(task -> publishChange(TaskChange.Action.DELETED, task));
         // Удаляем все задачи из трекера
         basicTasks.clear();
     }
@@ -81,14 +122,18 @@ public class InMemoryTaskManager implements TaskManager {
     // Удаление всех подзадач
     @Override
     public void removeAllSubtasks() {
+        markModified(TaskCollection.SUBTASKS, TaskCollection.EPICS, TaskCollection.PRIORITIZED, TaskCollection.HISTORY);
         // Пересоздаём все эпики с пустыми списками id подзадач и статусом NEW,
         // startTime будет null, а duration = 0
-        epics.values().forEach(epic ->
-                updateEpic(new Epic(epic.getID(), epic.getName(), epic.getDescription())));
+        epics.replaceAll((id, epic) -> new Epic(epic.getID(), epic.getName(), epic.getDescription()));
+        epicAggregates.clear();
         // Удаляем все подзадачи из истории
         subtasks.keySet().forEach(historyManager::removeTask);
-        // Удаляем все подзадачи из множества
-        prioritySet.removeAll(subtasks.values());
+        // Удаляем все подзадачи из множества и из индекса
+        subtasks.values().forEach(this::removeFromPriority);
+        // Сообщаем об удалении подзадач и об изменении эпиков
+        subtasks.values().forEach(subtask -> publishChange(TaskChange.Action.DELETED, subtask));
+        epics.values().forEach(epic -> publishChange(TaskChange.Action.UPDATED, epic));
         // Удаляем все подзадачи из трекера
         subtasks.clear();
     }
@@ -96,14 +141,19 @@ public class InMemoryTaskManager implements TaskManager {
     // Удаление всех эпиков
     @Override
     public void removeAllEpics() {
+        markModified(TaskCollection.EPICS, TaskCollection.SUBTASKS, TaskCollection.PRIORITIZED, TaskCollection.HISTORY);
         // Удаляем все эпики из истории
         epics.keySet().forEach(historyManager::removeTask);
+        // Сообщаем об удалении подзадач и эпиков
+        subtasks.values().forEach(subtask -> publishChange(TaskChange.Action.DELETED, subtask));
+        epics.values().forEach(epic -> publishChange(TaskChange.Action.DELETED, epic));
         // Удаляем все эпики из трекера
         epics.clear();
+        epicAggregates.clear();
         // Удаляем все подзадачи из истории
         subtasks.keySet().forEach(historyManager::removeTask);
-        // Удаляем все подзадачи из множества
-        prioritySet.removeAll(subtasks.values());
+        // Удаляем все подзадачи из множества и из индекса
+        subtasks.values().forEach(this::removeFromPriority);
         // Удаляем все подзадачи из трекера
         subtasks.clear();
     }
@@ -111,45 +161,73 @@ public class InMemoryTaskManager implements TaskManager {
     // Получение задачи (обычной) по id
     @Override
     public Task getBasicTaskById(int id) throws TaskNotFoundException {
-        if (!basicTasks.containsKey(id)) {
-            throw new TaskNotFoundException("Задача с id = " + id + " не найдена");
-        }
+        Task task = findBasicTaskById(id);
 
         // Добавляем задачу в историю просмотра
-        addToHistory(basicTasks.get(id));
+        addToHistory(task);
 
-        return basicTasks.get(id);
+        return task;
     }
 
     // Получение подзадачи по id
     @Override
     public Subtask getSubtaskById(int id) throws TaskNotFoundException {
-        if (!subtasks.containsKey(id)) {
-            throw new TaskNotFoundException("Подзадача с id = " + id + " не найдена");
-        }
+        Subtask subtask = findSubtaskById(id);
 
         // Добавляем подзадачу в историю просмотра
-        addToHistory(subtasks.get(id));
+        addToHistory(subtask);
 
-        return subtasks.get(id);
+        return subtask;
     }
 
     // Получение эпика по id
     @Override
     public Epic getEpicById(int id) throws TaskNotFoundException {
-        if (!epics.containsKey(id)) {
-            throw new TaskNotFoundException("Эпик с id = " + id + " не найден");
-        }
+        Epic epic = findEpicById(id);
 
         // Добавляем эпик в историю просмотра
-        addToHistory(epics.get(id));
+        addToHistory(epic);
+
+        return epic;
+    }
+
+    // Получение задачи (обычной) по id без добавления в историю просмотра
+    @Override
+    public Task findBasicTaskById(int id) throws TaskNotFoundException {
+        Task task = basicTasks.get(id);
+        if (task == null) {
+            throw new TaskNotFoundException("Задача с id = " + id + " не найдена");
+        }
+
+        return task;
+    }
+
+    // Получение подзадачи по id без добавления в историю просмотра
+    @Override
+    public Subtask findSubtaskById(int id) throws TaskNotFoundException {
+        Subtask subtask = subtasks.get(id);
+        if (subtask == null) {
+            throw new TaskNotFoundException("Подзадача с id = " + id + " не найдена");
+        }
 
-        return epics.get(id);
+        return subtask;
+    }
+
+    // Получение эпика по id без добавления в историю просмотра
+    @Override
+    public Epic findEpicById(int id) throws TaskNotFoundException {
+        Epic epic = epics.get(id);
+        if (epic == null) {
+            throw new TaskNotFoundException("Эпик с id = " + id + " не найден");
+        }
+
+        return epic;
     }
 
     // Добавление новой задачи (обычной)
     @Override
     public void addBasicTask(Task task) throws TaskOverlapException {
+        markModified(TaskCollection.BASIC_TASKS, TaskCollection.PRIORITIZED);
         // Ничего не делаем, если уже есть задача с таким идентификатором
         if (basicTasks.containsKey(task.getID())) {
             return;
@@ -159,16 +237,15 @@ public class InMemoryTaskManager implements TaskManager {
         if (task.getStartTime().isPresent()) {
             // Если параметр задан, то добавляем задачу в мапу (и в множество) только если
             // она не пересекается по времени выполнения с другими задачами
-            if (getPrioritizedTasks().stream().anyMatch(task::hasOverlapWith)) {
-                throw new TaskOverlapException("Задача имеет пересечение по времени выполнения с другой задачей");
-            }
+            checkOverlap(task);
 
             basicTasks.put(task.getID(), task);
-            prioritySet.add(task);
+            addToPriority(task);
         } else {
             // Если параметр не задан, то добавляем задачу только в мапу
             basicTasks.put(task.getID(), task);
         }
+        publishChange(TaskChange.Action.CREATED, task);
 
         // Изменяем globalID для корректного присвоения идентификаторов новым задачам
         if (task.getID() > globalID) {
@@ -179,25 +256,28 @@ public class InMemoryTaskManager implements TaskManager {
     // Добавление новой подзадачи
     @Override
     public void addSubtask(Subtask subtask) throws TaskOverlapException {
+        markModified(TaskCollection.SUBTASKS, TaskCollection.EPICS, TaskCollection.PRIORITIZED);
         // Ничего не делаем, если уже есть подзадача с таким идентификатором
         if (subtasks.containsKey(subtask.getID())) {
             return;
         }
 
+        // Расчётные параметры эпика готовим до изменения мапы подзадач
+        prepareEpicAggregate(subtask);
+
         // При добавлении подзадачи проверяем наличие даты и времени начала
         if (subtask.getStartTime().isPresent()) {
             // Если параметр задан, то добавляем подзадачу в мапу (и в множество) только если
             // она не пересекается по времени выполнения с другими задачами
-            if (getPrioritizedTasks().stream().anyMatch(subtask::hasOverlapWith)) {
-                throw new TaskOverlapException("Задача имеет пересечение по времени выполнения с другой задачей");
-            }
+            checkOverlap(subtask);
 
             subtasks.put(subtask.getID(), subtask);
-            prioritySet.add(subtask);
+            addToPriority(subtask);
         } else {
             // Если параметр не задан, то добавляем подзадачу только в мапу
             subtasks.put(subtask.getID(), subtask);
         }
+        publishChange(TaskChange.Action.CREATED, subtask);
 
         // Изменяем globalID для корректного присвоения идентификаторов новым задачам
         if (subtask.getID() > globalID) {
@@ -205,40 +285,17 @@ public class InMemoryTaskManager implements TaskManager {
         }
 
         // Обновляем эпик, к которому относится подзадача
-        if (subtask.getEpicID() == null) {
-            return;
-            // TODO: мб исключение?
-        }
-
-        Epic epic = epics.get(subtask.getEpicID());
-
-        // Проверка на отсутствие эпика в трекере
-        if (epic == null) {
-            return;
-        }
-
-        // Добавляем id новой подзадачи в эпик
-        List<Integer> epicSubtasks = new ArrayList<>(epic.getSubtaskIDs());
-        epicSubtasks.add(subtask.getID());
-
-        // Рассчитываем новый статус
-        TaskStatus newEpicStatus = calculateEpicStatus(epicSubtasks);
-        // Рассчитываем новую дату начала
-        LocalDateTime newStartTime = calculateEpicStartTime(epicSubtasks);
-        // Рассчитываем новую продолжительность
-        Duration newDuration = calculateEpicDuration(epicSubtasks);
-        // Рассчитываем новую дату окончания
-        LocalDateTime newEndTime = calculateEpicEndTime(epicSubtasks);
-
-        // Пересоздаём эпик
-        updateEpic(new Epic(epic.getID(), epic.getName(), epic.getDescription(), newEpicStatus, epicSubtasks,
-                newStartTime, newDuration, newEndTime));
+        updateEpicSubtask(null, subtask);
     }
 
     // Добавление нового эпика
     @Override
     public void addEpic(Epic epic) {
-        epics.put(epic.getID(), epic);
+        markModified(TaskCollection.EPICS);
+        Epic oldEpic = epics.put(epic.getID(), epic);
+        // Параметры эпика будут рассчитаны заново по его списку подзадач при их изменении
+        epicAggregates.remove(epic.getID());
+        publishChange(oldEpic == null ? TaskChange.Action.CREATED : TaskChange.Action.UPDATED, epic);
 
         // Изменяем globalID для корректного присвоения идентификаторов новым задачам
         if (epic.getID() > globalID) {
@@ -249,6 +306,7 @@ public class InMemoryTaskManager implements TaskManager {
     // Обновление задачи (обычной)
     @Override
     public void updateBasicTask(Task updatedTask) throws TaskOverlapException, TaskNotFoundException {
+        markModified(TaskCollection.BASIC_TASKS, TaskCollection.PRIORITIZED);
         if (!basicTasks.containsKey(updatedTask.getID())) {
             throw new TaskNotFoundException("Задача с id = " + updatedTask.getID() + " не найдена");
         }
@@ -256,164 +314,200 @@ public class InMemoryTaskManager implements TaskManager {
         // При обновлении задачи проверяем наличие даты и времени начала
         if (updatedTask.getStartTime().isPresent()) {
             // Если параметр задан, то обновляем задачу только если
-            // она не пересекается по времени выполнения с другими задачами
-            if (getPrioritizedTasks().stream()
-                    .filter(task -> !task.equals(updatedTask))
-                    .anyMatch(updatedTask::hasOverlapWith)) {
-                throw new TaskOverlapException("Задача имеет пересечение по времени выполнения с другой задачей");
-            }
+            // она не пересекается по времени выполнения с другими задачами (предыдущая версия не учитывается)
+            checkOverlap(updatedTask, basicTasks.get(updatedTask.getID()));
 
-            basicTasks.put(updatedTask.getID(), updatedTask);
             // Обновляем в множестве
-            prioritySet.remove(updatedTask);
-            if (updatedTask.getStartTime().isPresent()) {
-                prioritySet.add(updatedTask);
-            }
+            removeFromPriority(basicTasks.put(updatedTask.getID(), updatedTask));
+            addToPriority(updatedTask);
         } else {
             // Если параметр не задан, то обновляем в мапе и удаляем из множества
-            basicTasks.put(updatedTask.getID(), updatedTask);
-            prioritySet.remove(updatedTask);
+            removeFromPriority(basicTasks.put(updatedTask.getID(), updatedTask));
         }
+        publishChange(TaskChange.Action.UPDATED, updatedTask);
     }
 
     // Обновление подзадачи
     @Override
     public void updateSubtask(Subtask updatedSubtask) throws TaskOverlapException, TaskNotFoundException {
+        markModified(TaskCollection.SUBTASKS, TaskCollection.EPICS, TaskCollection.PRIORITIZED);
         if (!subtasks.containsKey(updatedSubtask.getID())) {
             throw new TaskNotFoundException("Подзадача с id = " + updatedSubtask.getID() + " не найдена");
         }
 
+        Subtask oldSubtask = subtasks.get(updatedSubtask.getID());
+        // Расчётные параметры эпиков готовим до изменения мапы подзадач
+        prepareEpicAggregate(oldSubtask);
+        prepareEpicAggregate(updatedSubtask);
+
         // При обновлении подзадачи проверяем наличие даты и времени начала
         if (updatedSubtask.getStartTime().isPresent()) {
             // Если параметр задан, то обновляем подзадачу только если
-            // она не пересекается по времени выполнения с другими задачами
-            if (getPrioritizedTasks().stream()
-                    .filter(task -> !task.equals(updatedSubtask))
-                    .anyMatch(updatedSubtask::hasOverlapWith)) {
-                throw new TaskOverlapException("Задача имеет пересечение по времени выполнения с другой задачей");
-            }
+            // она не пересекается по времени выполнения с другими задачами (предыдущая версия не учитывается)
+            checkOverlap(updatedSubtask, oldSubtask);
 
-            subtasks.put(updatedSubtask.getID(), updatedSubtask);
             // Обновляем в множестве
-            prioritySet.remove(updatedSubtask);
-            if (updatedSubtask.getStartTime().isPresent()) {
-                prioritySet.add(updatedSubtask);
-            }
+            removeFromPriority(subtasks.put(updatedSubtask.getID(), updatedSubtask));
+            addToPriority(updatedSubtask);
         } else {
             // Если параметр не задан, то обновляем в мапе и удаляем из множества
-            subtasks.put(updatedSubtask.getID(), updatedSubtask);
-            prioritySet.remove(updatedSubtask);
+            removeFromPriority(subtasks.put(updatedSubtask.getID(), updatedSubtask));
         }
+        publishChange(TaskChange.Action.UPDATED, updatedSubtask);
 
-        // Обновляем эпик, к которому относится подзадача
-        if (updatedSubtask.getEpicID() == null) {
-            return;
-        }
-
-        Epic epic = epics.get(updatedSubtask.getEpicID());
-
-        // Рассчитываем новый статус
-        TaskStatus newEpicStatus = calculateEpicStatus(epic.getSubtaskIDs());
-        // Рассчитываем новую дату начала
-        LocalDateTime newStartTime = calculateEpicStartTime(epic.getSubtaskIDs());
-        // Рассчитываем новую продолжительность
-        Duration newDuration = calculateEpicDuration(epic.getSubtaskIDs());
-        // Рассчитываем новую дату окончания
-        LocalDateTime newEndTime = calculateEpicEndTime(epic.getSubtaskIDs());
-
-        // Пересоздаём эпик
-        updateEpic(new Epic(epic.getID(), epic.getName(), epic.getDescription(), newEpicStatus,
-                epic.getSubtaskIDs(), newStartTime, newDuration, newEndTime));
+        // Обновляем эпик, к которому относится подзадача (и прежний эпик, если подзадача перенесена)
+        updateEpicSubtask(oldSubtask, updatedSubtask);
     }
 
     // Обновление эпика
     @Override
     public void updateEpic(Epic updatedEpic) throws TaskNotFoundException {
+        markModified(TaskCollection.EPICS);
         if (!epics.containsKey(updatedEpic.getID())) {
             throw new TaskNotFoundException("Эпик с id = " + updatedEpic.getID() + " не найден");
         }
 
         epics.put(updatedEpic.getID(), updatedEpic);
+        // Параметры эпика будут рассчитаны заново по его списку подзадач при их изменении
+        epicAggregates.remove(updatedEpic.getID());
+        publishChange(TaskChange.Action.UPDATED, updatedEpic);
     }
 
-    // Расчёт статуса эпика на основе статусов его подзадач
-    private TaskStatus calculateEpicStatus(List<Integer> subtaskIDs) {
-        // Подзадачи, относящиеся к эпику
-        List<Subtask> epicSubtasks = subtaskIDs.stream()
-                .map(subtaskId -> subtasks.get(subtaskId))
-                .collect(Collectors.toList());
+    // Обновить эпики при замене подзадачи removed на подзадачу added (любая из них может быть null)
+    // Параметры эпиков пересчитываются инкрементально, без обхода всех подзадач эпика
+    private void updateEpicSubtask(Subtask removed, Subtask added) {
+        Integer removedEpicID = removed == null ? null : removed.getEpicID();
+        Integer addedEpicID = added == null ? null : added.getEpicID();
 
-        if (epicSubtasks.isEmpty()) {
-            return TaskStatus.NEW;
+        if (removedEpicID != null && removedEpicID.equals(addedEpicID)) {
+            // Подзадача осталась в том же эпике - список его подзадач не меняется
+            if (epics.containsKey(removedEpicID)) {
+                getEpicAggregate(removedEpicID).replace(removed, added);
+            }
         } else {
-            int newSubtasks = 0;
-            int doneSubtasks = 0;
-
-            for (Subtask subtask : epicSubtasks) {
-                switch (subtask.getStatus()) {
-                    case NEW:
-                        newSubtasks++;
-                        break;
-                    case DONE:
-                        doneSubtasks++;
-                        break;
+            if (removedEpicID != null && epics.containsKey(removedEpicID)) {
+                getEpicAggregate(removedEpicID).remove(removed);
+            }
+            if (addedEpicID != null && epics.containsKey(addedEpicID)) {
+                getEpicAggregate(addedEpicID).add(added);
+            }
+        }
+
+        // Пересоздаём изменившиеся эпики
+        if (removedEpicID != null && epics.containsKey(removedEpicID)) {
+            refreshEpic(removedEpicID);
+        }
+        if (addedEpicID != null && !addedEpicID.equals(removedEpicID) && epics.containsKey(addedEpicID)) {
+            refreshEpic(addedEpicID);
+        }
+    }
+
+    // Подготовить расчётные параметры эпика подзадачи (вызывается до изменения мапы подзадач)
+    // При отсутствии параметры рассчитываются по подзадачам трекера, поэтому расчёт после изменения
+    // уже учитывал бы новую версию подзадачи, и её инкрементальное применение было бы повторным
+    private void prepareEpicAggregate(Subtask subtask) {
+        if (subtask != null && subtask.getEpicID() != null && epics.containsKey(subtask.getEpicID())) {
+            getEpicAggregate(subtask.getEpicID());
+        }
+    }
+
+    // Получить расчётные параметры эпика (при отсутствии - рассчитать по текущему списку подзадач эпика)
+    // В расчёт попадают только подзадачи трекера, относящиеся к этому эпику, каждая по одному разу
+    private EpicAggregate getEpicAggregate(int epicID) {
+        return epicAggregates.computeIfAbsent(epicID, id -> new EpicAggregate(epics.get(id).getSubtaskIDs().stream()
+                .distinct()
+                .map(subtasks::get)
+                .filter(subtask -> subtask != null && Objects.equals(subtask.getEpicID(), id))
+                .toList()));
+    }
+
+    // Пересоздать эпик с текущими расчётными параметрами
+    private void refreshEpic(int epicID) {
+        Epic epic = getEpicAggregate(epicID).toEpic(epics.get(epicID));
+        epics.put(epicID, epic);
+        publishChange(TaskChange.Action.UPDATED, epic);
+    }
+
+    // Массовое восстановление задач (например, при загрузке из файла)
+    // Задачи раскладываются по мапам и индексам за один проход, а параметры эпиков рассчитываются
+    // один раз после привязки к ним всех подзадач, вне зависимости от порядка следования задач.
+    // Восстановление не описывается отдельными изменениями задач: слушатели изменений не уведомляются,
+    // а журнал изменений сбрасывается (клиентам журнала нужно перезагрузить задачи целиком)
+    protected void restoreTasks(Collection<Task> tasks) throws TaskOverlapException {
+        markModified(TaskCollection.BASIC_TASKS, TaskCollection.SUBTASKS, TaskCollection.EPICS, TaskCollection.PRIORITIZED);
+        changeJournal.discard();
+        for (Task task : tasks) {
+            // Изменяем globalID для корректного присвоения идентификаторов новым задачам
+            if (task.getID() > globalID) {
+                globalID = task.getID();
+            }
+
+            if (task instanceof Epic epic) {
+                epics.put(epic.getID(), epic);
+            } else if (task instanceof Subtask subtask) {
+                // Как и при обычном добавлении, повторно подзадачу с тем же id не добавляем
+                if (!subtasks.containsKey(subtask.getID())) {
+                    checkOverlap(subtask);
+                    subtasks.put(subtask.getID(), subtask);
+                    addToPriority(subtask);
                 }
+            } else if (!basicTasks.containsKey(task.getID())) {
+                checkOverlap(task);
+                basicTasks.put(task.getID(), task);
+                addToPriority(task);
             }
+        }
 
-            if (newSubtasks == epicSubtasks.size()) {
-                return TaskStatus.NEW;
-            } else if (doneSubtasks == epicSubtasks.size()) {
-                return TaskStatus.DONE;
-            } else {
-                return TaskStatus.IN_PROGRESS;
+        // Собираем id подзадач для каждого эпика (в порядке следования подзадач)
+        Map<Integer, List<Integer>> epicSubtaskIDs = new HashMap<>();
+        for (Task task : tasks) {
+            // Дубликаты подзадач, не попавшие в трекер, пропускаем
+            if (task instanceof Subtask subtask && subtasks.get(subtask.getID()) == subtask
+                    && subtask.getEpicID() != null && epics.containsKey(subtask.getEpicID())) {
+                epicSubtaskIDs.computeIfAbsent(subtask.getEpicID(), id -> new ArrayList<>()).add(subtask.getID());
             }
         }
+
+        // Пересоздаём эпики, у которых есть подзадачи (расчётные параметры для инкрементального
+        // обновления будут созданы при первом изменении подзадач эпика)
+        epicSubtaskIDs.forEach((epicID, subtaskIDs) -> {
+            epicAggregates.remove(epicID);
+            epics.put(epicID, EpicAggregate.recalculate(epics.get(epicID), subtaskIDs, subtasks));
+        });
     }
 
     // Удаление задачи (обычной) по id
     @Override
     public void removeBasicTaskById(int id) {
-        // Удаляем задачу из множества
-        prioritySet.remove(basicTasks.get(id));
-        // Удаляем задачу из трекера
-        basicTasks.remove(id);
+        markModified(TaskCollection.BASIC_TASKS, TaskCollection.PRIORITIZED, TaskCollection.HISTORY);
+        // Удаляем задачу из трекера, из множества и из индекса
+        Task task = basicTasks.remove(id);
+        removeFromPriority(task);
         // Удаляем задачу из истории
         historyManager.removeTask(id);
+
+        if (task != null) {
+            publishChange(TaskChange.Action.DELETED, task);
+        }
     }
 
-    // Удаление подзадачи по id (с пересчётом статуса эпика и его пересозданием при необходимости)
+    // Удаление подзадачи по id (с пересчётом параметров эпика и его пересозданием)
     @Override
     public void removeSubtaskById(int id) {
+        markModified(TaskCollection.SUBTASKS, TaskCollection.EPICS, TaskCollection.PRIORITIZED, TaskCollection.HISTORY);
         Subtask subtask = subtasks.get(id);
 
-        // Обновляем эпик
-        if (subtask.getEpicID() == null) {
+        if (subtask == null) {
             return;
         }
 
-        Epic epic = epics.get(subtask.getEpicID());
-
-        // Удаляем подзадачу из эпика
-        List<Integer> epicSubtasks = new ArrayList<>(epic.getSubtaskIDs());
-        epicSubtasks.remove(Integer.valueOf(id));
-
-        // Рассчитываем новый статус
-        TaskStatus newEpicStatus = calculateEpicStatus(epicSubtasks);
-        // Рассчитываем новую дату начала
-        LocalDateTime newStartTime = calculateEpicStartTime(epicSubtasks);
-        // Рассчитываем новую продолжительность
-        Duration newDuration = calculateEpicDuration(epicSubtasks);
-        // Рассчитываем новую дату окончания
-        LocalDateTime newEndTime = calculateEpicEndTime(epicSubtasks);
-
-        // Пересоздаём эпик
-        updateEpic(new Epic(epic.getID(), epic.getName(), epic.getDescription(), newEpicStatus, epicSubtasks,
-                newStartTime, newDuration, newEndTime));
-
-        // Удаляем подзадачу из множества
-        prioritySet.remove(subtasks.get(id));
-        // Удаляем подзадачу из трекера
+        prepareEpicAggregate(subtask);
         subtasks.remove(id);
+        // Удаляем подзадачу из множества и из индекса
+        removeFromPriority(subtask);
+        publishChange(TaskChange.Action.DELETED, subtask);
+        // Обновляем эпик
+        updateEpicSubtask(subtask, null);
         // Удаляем подзадачу из истории
         historyManager.removeTask(id);
     }
@@ -421,22 +515,66 @@ public class InMemoryTaskManager implements TaskManager {
     // Удаление эпика по id
     @Override
     public void removeEpicById(int id) {
+        markModified(TaskCollection.EPICS, TaskCollection.SUBTASKS, TaskCollection.PRIORITIZED, TaskCollection.HISTORY);
         Epic epic = epics.get(id);
 
+        if (epic == null) {
+            return;
+        }
+
         // Удаляем подзадачи эпика
-        getAllEpicSubtasks(epic).forEach(subtask -> {
-            prioritySet.remove(subtask);
+        getAllEpicSubtasks(epic).stream().filter(Objects::nonNull).forEach(subtask -> {
+            removeFromPriority(subtask);
             subtasks.remove(subtask.getID());
             historyManager.removeTask(subtask.getID());
+            publishChange(TaskChange.Action.DELETED, subtask);
         });
 
         // Удаляем эпик из трекера
         epics.remove(id);
+        epicAggregates.remove(id);
+        publishChange(TaskChange.Action.DELETED, epic);
 
         // Удаляем эпик из истории
         historyManager.removeTask(id);
     }
 
+    // Применение пакета операций
+    // Сначала весь пакет проверяется без изменения трекера (существование обновляемых задач, отсутствие
+    // создаваемых и пересечения по времени с учётом предыдущих операций пакета, см. BatchValidator), и только
+    // затем операции применяются по очереди. Поэтому при ошибке исключение выбрасывается до первого изменения
+    @Override
+    public void applyBatch(List<BatchOperation> operations)
+            throws TaskOverlapException, TaskNotFoundException, TaskAlreadyExistsException {
+        new BatchValidator(basicTasks, subtasks, epics, timeIndex).validate(operations);
+
+        for (BatchOperation operation : operations) {
+            switch (operation.action()) {
+                case CREATE -> {
+                    switch (operation.taskType()) {
+                        case TASK -> addBasicTask(operation.task());
+                        case SUBTASK -> addSubtask((Subtask) operation.task());
+                        case EPIC -> addEpic((Epic) operation.task());
+                    }
+                }
+                case UPDATE -> {
+                    switch (operation.taskType()) {
+                        case TASK -> updateBasicTask(operation.task());
+                        case SUBTASK -> updateSubtask((Subtask) operation.task());
+                        case EPIC -> updateEpic((Epic) operation.task());
+                    }
+                }
+                case DELETE -> {
+                    switch (operation.taskType()) {
+                        case TASK -> removeBasicTaskById(operation.id());
+                        case SUBTASK -> removeSubtaskById(operation.id());
+                        case EPIC -> removeEpicById(operation.id());
+                    }
+                }
+            }
+        }
+    }
+
     // Получение всех подзадач для указанного эпика
     @Override
     public List<Subtask> getAllEpicSubtasks(Epic epic) {
@@ -455,52 +593,122 @@ public class InMemoryTaskManager implements TaskManager {
         return historyManager.getHistory();
     }
 
+    // Получить представление истории просмотра только для чтения
+    @Override
+    public Collection<Task> getHistoryView() {
+        return historyManager.getHistoryView();
+    }
+
+    // Получить представление задач (обычных) только для чтения
+    @Override
+    public Collection<Task> getBasicTasksView() {
+        return basicTasksView;
+    }
+
+    // Получить представление подзадач только для чтения
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        return subtasksView;
+    }
+
+    // Получить представление эпиков только для чтения
+    @Override
+    public Collection<Epic> getEpicsView() {
+        return epicsView;
+    }
+
+    // Получить представление задач в порядке приоритета только для чтения
+    @Override
+    public Collection<Task> getPrioritizedTasksView() {
+        return prioritizedTasksView;
+    }
+
+    // Получить общий номер версии трекера
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    // Получить номер версии коллекции трекера
+    @Override
+    public long getVersion(TaskCollection collection) {
+        return versions.get(collection.ordinal());
+    }
+
+    // Отметить изменение коллекций трекера (увеличить их номера версий и общий номер версии)
+    // Вызывается до изменения, поэтому неудавшаяся операция лишь делает версию устаревшей
+    // (кроме просмотра задачи, см. addToHistory).
+    // Счётчики атомарные, т.к. история может изменяться параллельно (см. ConcurrentTaskManager)
+    private void markModified(TaskCollection... changedCollections) {
+        for (TaskCollection collection : changedCollections) {
+            versions.incrementAndGet(collection.ordinal());
+        }
+        version.incrementAndGet();
+    }
+
+    // Подписаться на изменения задач трекера
+    @Override
+    public void addChangeListener(TaskChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    // Отписаться от изменений задач трекера
+    @Override
+    public void removeChangeListener(TaskChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    // Получить изменения задач из журнала последних изменений
+    // Журнал потокобезопасен, поэтому ожидание не требует блокировок трекера
+    @Override
+    public TaskChanges getChanges(long since, Duration timeout) throws InterruptedException {
+        return changeJournal.getChangesAfter(since, timeout);
+    }
+
+    // Записать изменение задачи в журнал и сообщить о нём слушателям (вызывается после изменения)
+    private void publishChange(TaskChange.Action action, Task task) {
+        TaskChange change = changeJournal.append(action, TaskType.of(task), task.getID(),
+                action == TaskChange.Action.DELETED ? null : task);
+        for (TaskChangeListener listener : changeListeners) {
+            listener.onChange(change);
+        }
+    }
+
     // Добавить задачу в историю просмотра
+    // Просмотры могут выполняться параллельно с чтением истории (см. ConcurrentTaskManager), поэтому версия
+    // истории увеличивается после изменения: иначе читатель мог бы получить новую версию вместе с историей
+    // без этого просмотра и закешировать её под новой версией
     private void addToHistory(Task task) {
         historyManager.addTask(task);
+        markModified(TaskCollection.HISTORY);
     }
 
-    // Расчёт продолжительности эпика, которая равна сумме продолжительностей его подзадач
-    private Duration calculateEpicDuration(List<Integer> subtaskIDs) {
-        // Если подзадачи отсутствуют
-        if (subtaskIDs.isEmpty()) {
-            return Duration.ZERO;
+    // Проверяет пересечение задачи по времени выполнения с задачами трекера
+    private void checkOverlap(Task task) throws TaskOverlapException {
+        checkOverlap(task, null);
+    }
+
+    // Проверяет пересечение задачи по времени выполнения с задачами трекера, кроме заменяемой ею задачи replaced
+    private void checkOverlap(Task task, Task replaced) throws TaskOverlapException {
+        if (timeIndex.hasOverlapWith(task, replaced)) {
+            throw new TaskOverlapException("Задача имеет пересечение по времени выполнения с другой задачей");
         }
-        // Иначе рассчитываем
-        return subtaskIDs.stream()
-                .map(subtaskId -> subtasks.get(subtaskId).getDuration())
-                .filter(Objects::nonNull)
-                .reduce(Duration.ZERO, Duration::plus);
     }
 
-    // Расчёт времени начала эпика, которое равно дате старта самой ранней подзадачи
-    private LocalDateTime calculateEpicStartTime(List<Integer> subtaskIDs) {
-        // Если подзадачи отсутствуют
-        if (subtaskIDs.isEmpty()) {
-            return null;
+    // Добавить задачу в приоритезированное множество и в индекс интервалов
+    private void addToPriority(Task task) {
+        if (task.getStartTime().isPresent()) {
+            prioritySet.add(task);
+            timeIndex.add(task);
         }
-        // Иначе рассчитываем
-        return subtaskIDs.stream()
-                .map(subtaskId -> subtasks.get(subtaskId).getStartTime())
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .min(Comparator.naturalOrder())
-                .orElse(null);
     }
 
-    // Расчёт времени конца эпика, которое равно дате окончания самой поздней подзадачи
-    private LocalDateTime calculateEpicEndTime(List<Integer> subtaskIDs) {
-        // Если подзадачи отсутствуют
-        if (subtaskIDs.isEmpty()) {
-            return null;
+    // Удалить задачу из приоритезированного множества и из индекса интервалов
+    private void removeFromPriority(Task task) {
+        if (task != null && task.getStartTime().isPresent()) {
+            prioritySet.remove(task);
+            timeIndex.remove(task);
         }
-        // Иначе рассчитываем
-        return subtaskIDs.stream()
-                .map(subtaskId -> subtasks.get(subtaskId).getEndTime())
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .max(Comparator.naturalOrder())
-                .orElse(null);
     }
 
     // Возвращает список задач и подзадач в порядке приоритета (от более ранней даты начала к более поздней)
@@ -508,4 +716,54 @@ public class InMemoryTaskManager implements TaskManager {
     public List<Task> getPrioritizedTasks() {
         return new ArrayList<>(prioritySet);
     }
+
+    // Получить часть списка задач в порядке приоритета
+    // Границы ищутся в упорядоченном множестве за O(log N), копируются только возвращаемые задачи
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, PriorityCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Количество задач должно быть положительным");
+        }
+
+        // Нижняя граница: сразу после курсора либо начиная с from (какая из них больше)
+        Task lowerBound = null;
+        boolean lowerInclusive = true;
+        if (after != null && (from == null || !after.startTime().isBefore(from))) {
+            lowerBound = createPriorityProbe(after.startTime(), after.id());
+            lowerInclusive = false;
+        } else if (from != null) {
+            lowerBound = createPriorityProbe(from, Integer.MIN_VALUE);
+        }
+        // Верхняя граница: задачи, начинающиеся раньше to
+        Task upperBound = to == null ? null : createPriorityProbe(to, Integer.MIN_VALUE);
+
+        NavigableSet<Task> range;
+        if (lowerBound != null && upperBound != null) {
+            if (prioritySet.comparator().compare(lowerBound, upperBound) > 0) {
+                return new ArrayList<>();
+            }
+            range = prioritySet.subSet(lowerBound, lowerInclusive, upperBound, false);
+        } else if (lowerBound != null) {
+            range = prioritySet.tailSet(lowerBound, lowerInclusive);
+        } else if (upperBound != null) {
+            range = prioritySet.headSet(upperBound, false);
+        } else {
+            range = prioritySet;
+        }
+
+        List<Task> result = new ArrayList<>();
+        Iterator<Task> iterator = range.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+
+        return result;
+    }
+
+    // Пробная задача для поиска границ в множестве задач, упорядоченных по приоритету
+    // Подзадача располагается после задач и эпиков с теми же датой начала и id, поэтому курсор, указывающий
+    // на задачу любого типа, исключает её из следующей страницы
+    private static Task createPriorityProbe(LocalDateTime startTime, int id) {
+        return new Subtask(id, null, null, null, null, startTime, Duration.ZERO);
+    }
 }
@@ -0,0 +1,134 @@
+package ru.yandex.practicum.managers;
+
+import java.util.Arrays;
+
+// Отображение id задачи (int) в неотрицательный индекс (int) без упаковки ключей и значений
+// Открытая адресация с линейным пробированием в двух параллельных массивах. При удалении последующие
+// элементы цепочки сдвигаются назад, поэтому «надгробия» не нужны и поиск не деградирует со временем.
+// Память выделяется только при увеличении таблицы
+class IntIndexMap {
+    // Признак отсутствия ключа
+    static final int NO_INDEX = -1;
+    // Максимальная доля заполнения таблицы
+    private static final float LOAD_FACTOR = 0.5f;
+    // Минимальная ёмкость таблицы (степень двойки)
+    private static final int MIN_CAPACITY = 16;
+
+    // Ключи
+    private int[] keys;
+    // Значения (NO_INDEX - ячейка свободна)
+    private int[] values;
+    // Маска индекса ячейки (ёмкость - 1)
+    private int mask;
+    // Количество элементов
+    private int size;
+    // Количество элементов, при превышении которого таблица увеличивается
+    private int threshold;
+
+    // Конструктор класса IntIndexMap с ожидаемым количеством элементов
+    IntIndexMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    // Получить значение по ключу (NO_INDEX, если ключ отсутствует)
+    int get(int key) {
+        for (int slot = slotOf(key); values[slot] != NO_INDEX; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return NO_INDEX;
+    }
+
+    // Добавить или заменить значение по ключу
+    void put(int key, int value) {
+        int slot = slotOf(key);
+        while (values[slot] != NO_INDEX) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            resize(keys.length << 1);
+        }
+    }
+
+    // Удалить ключ, вернуть связанное с ним значение (NO_INDEX, если ключ отсутствовал)
+    int remove(int key) {
+        int slot = slotOf(key);
+        while (values[slot] != NO_INDEX) {
+            if (keys[slot] == key) {
+                int value = values[slot];
+                shiftBack(slot);
+                size--;
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_INDEX;
+    }
+
+    // Количество элементов
+    int size() {
+        return size;
+    }
+
+    // Освободить ячейку, сдвинув назад элементы той же цепочки, которые могли быть размещены за ней
+    private void shiftBack(int freeSlot) {
+        int slot = freeSlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == NO_INDEX) {
+                break;
+            }
+
+            // Элемент можно перенести в свободную ячейку, если она не находится между его исходной ячейкой
+            // и текущей (с учётом перехода через конец таблицы)
+            int home = slotOf(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - freeSlot) & mask)) {
+                keys[freeSlot] = keys[slot];
+                values[freeSlot] = values[slot];
+                freeSlot = slot;
+            }
+        }
+        values[freeSlot] = NO_INDEX;
+    }
+
+    // Исходная ячейка ключа (ключи перемешиваются, т.к. id задач обычно идут подряд)
+    private int slotOf(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    // Выделить пустую таблицу указанной ёмкости
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_INDEX);
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Увеличить таблицу, перенеся в неё все элементы
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != NO_INDEX) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
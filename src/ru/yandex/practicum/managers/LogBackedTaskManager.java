@@ -0,0 +1,402 @@
+package ru.yandex.practicum.managers;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import ru.yandex.practicum.exceptions.*;
+import ru.yandex.practicum.tasks.*;
+import ru.yandex.practicum.utils.CsvUtils;
+import ru.yandex.practicum.utils.TaskParser;
+
+// Трекер задач с сохранением изменений в журнал (write-ahead log)
+// Каждое изменение дописывается в конец файла журнала отдельной записью, поэтому стоимость записи
+// не зависит от количества задач в трекере. Журнал начинается со снимка состояния трекера;
+// после заданного количества записей журнал уплотняется - заменяется новым снимком.
+// Класс не предназначен для наследования: конструктор создаёт журнал (вызывает compact)
+public final class LogBackedTaskManager extends InMemoryTaskManager implements Closeable {
+    // Количество записей, после которого журнал уплотняется, по умолчанию
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
+    // Коды операций в записях журнала
+    private static final String SNAPSHOT = "S";
+    private static final String ADD = "A";
+    private static final String UPDATE = "U";
+    private static final String REMOVE = "R";
+    private static final String CLEAR = "C";
+
+    // Разделитель id подзадач эпика в записи журнала
+    private static final String SUBTASK_IDS_DELIMITER = ";";
+
+    // Файл журнала
+    private final File journalFile;
+    // Количество записей, после которого журнал уплотняется
+    private final int compactionThreshold;
+    // Количество записей, добавленных после последнего снимка
+    private int recordsSinceSnapshot;
+    // Глубина вложенности операций (записываются только операции верхнего уровня)
+    private int operationDepth;
+    // Поток для дописывания записей в журнал
+    private Writer journalWriter;
+
+    // Конструктор класса LogBackedTaskManager
+    public LogBackedTaskManager(File journalFile, int compactionThreshold) {
+        this(journalFile, compactionThreshold, true);
+    }
+
+    // Конструктор класса LogBackedTaskManager
+    public LogBackedTaskManager(File journalFile) {
+        this(journalFile, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    // Конструктор класса LogBackedTaskManager (при необходимости без создания нового журнала)
+    private LogBackedTaskManager(File journalFile, int compactionThreshold, boolean createJournal) {
+        super();
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Порог уплотнения журнала должен быть положительным");
+        }
+
+        this.journalFile = journalFile;
+        this.compactionThreshold = compactionThreshold;
+
+        if (createJournal) {
+            compact();
+        }
+    }
+
+    // Создать трекер, восстановив состояние из журнала, и продолжить запись в тот же журнал
+    public static LogBackedTaskManager loadFromFile(File journalFile, int compactionThreshold) {
+        LogBackedTaskManager manager = new LogBackedTaskManager(journalFile, compactionThreshold, false);
+        manager.replay();
+        // Начинаем работу с уплотнённого журнала
+        manager.compact();
+
+        return manager;
+    }
+
+    // Создать трекер, восстановив состояние из журнала
+    public static LogBackedTaskManager loadFromFile(File journalFile) {
+        return loadFromFile(journalFile, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    // Добавление новой задачи (обычной)
+    @Override
+    public void addBasicTask(Task task) {
+        journal(() -> super.addBasicTask(task), taskRecord(ADD, task));
+    }
+
+    // Добавление новой подзадачи
+    @Override
+    public void addSubtask(Subtask subtask) {
+        journal(() -> super.addSubtask(subtask), taskRecord(ADD, subtask));
+    }
+
+    // Добавление нового эпика
+    @Override
+    public void addEpic(Epic epic) {
+        journal(() -> super.addEpic(epic), taskRecord(ADD, epic));
+    }
+
+    // Обновление задачи (обычной)
+    @Override
+    public void updateBasicTask(Task updatedTask) {
+        journal(() -> super.updateBasicTask(updatedTask), taskRecord(UPDATE, updatedTask));
+    }
+
+    // Обновление подзадачи
+    @Override
+    public void updateSubtask(Subtask updatedSubtask) {
+        journal(() -> super.updateSubtask(updatedSubtask), taskRecord(UPDATE, updatedSubtask));
+    }
+
+    // Обновление эпика
+    @Override
+    public void updateEpic(Epic updatedEpic) {
+        journal(() -> super.updateEpic(updatedEpic), taskRecord(UPDATE, updatedEpic));
+    }
+
+    // Удаление задачи (обычной) по id
+    @Override
+    public void removeBasicTaskById(int id) {
+        journal(() -> super.removeBasicTaskById(id), REMOVE + "," + TaskType.TASK.name() + "," + id);
+    }
+
+    // Удаление подзадачи по id
+    @Override
+    public void removeSubtaskById(int id) {
+        journal(() -> super.removeSubtaskById(id), REMOVE + "," + TaskType.SUBTASK.name() + "," + id);
+    }
+
+    // Удаление эпика по id
+    @Override
+    public void removeEpicById(int id) {
+        journal(() -> super.removeEpicById(id), REMOVE + "," + TaskType.EPIC.name() + "," + id);
+    }
+
+    // Удаление всех задач (обычных)
+    @Override
+    public void removeAllBasicTasks() {
+        journal(super::removeAllBasicTasks, CLEAR + "," + TaskType.TASK.name());
+    }
+
+    // Удаление всех подзадач
+    @Override
+    public void removeAllSubtasks() {
+        journal(super::removeAllSubtasks, CLEAR + "," + TaskType.SUBTASK.name());
+    }
+
+    // Удаление всех эпиков
+    @Override
+    public void removeAllEpics() {
+        journal(super::removeAllEpics, CLEAR + "," + TaskType.EPIC.name());
+    }
+
+    // Применение пакета операций
+    // Записи всех операций пакета дописываются в журнал одной записью в файл после применения пакета
+    @Override
+    public void applyBatch(List<BatchOperation> operations) {
+        List<String> records = new ArrayList<>();
+        for (BatchOperation operation : operations) {
+            records.add(switch (operation.action()) {
+                case CREATE -> taskRecord(ADD, operation.task());
+                case UPDATE -> taskRecord(UPDATE, operation.task());
+                case DELETE -> REMOVE + "," + operation.taskType().name() + "," + operation.id();
+            });
+        }
+
+        journal(() -> super.applyBatch(operations), records);
+    }
+
+    // Заменить журнал снимком текущего состояния трекера
+    // Снимок записывается во временный файл, который затем атомарно заменяет журнал
+    public void compact() {
+        closeJournalWriter();
+
+        try {
+            Path journalPath = journalFile.toPath().toAbsolutePath();
+            Path tempPath = Files.createTempFile(journalPath.getParent(), journalFile.getName(), ".tmp");
+
+            try (Writer writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                List<Task> allTasks = new ArrayList<>();
+                allTasks.addAll(getAllBasicTasks());
+                allTasks.addAll(getAllEpics());
+                allTasks.addAll(getAllSubtasks());
+
+                for (Task task : allTasks) {
+                    writer.write(SNAPSHOT + "," + task.toString() + "\n");
+                }
+            }
+
+            Files.move(tempPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journalWriter = new BufferedWriter(new FileWriter(journalFile, StandardCharsets.UTF_8, true));
+            recordsSinceSnapshot = 0;
+        } catch (IOException exception) {
+            throw new ManagerSaveException("Ошибка при уплотнении журнала. " + exception.getMessage(), exception);
+        }
+    }
+
+    // Закрыть журнал
+    @Override
+    public void close() {
+        closeJournalWriter();
+    }
+
+    // Выполнить операцию и, если она завершилась успешно и не является вложенной, записать её в журнал
+    private void journal(Runnable operation, String record) {
+        journal(operation, List.of(record));
+    }
+
+    // Выполнить операцию и, если она завершилась успешно и не является вложенной, записать в журнал её записи
+    private void journal(Runnable operation, List<String> records) {
+        operationDepth++;
+        try {
+            operation.run();
+        } finally {
+            operationDepth--;
+        }
+
+        if (operationDepth == 0) {
+            append(records);
+        }
+    }
+
+    // Дописать записи в журнал (одной записью в файл)
+    private void append(List<String> records) {
+        if (journalWriter == null) {
+            throw new ManagerSaveException("Журнал закрыт");
+        }
+
+        try {
+            for (String record : records) {
+                journalWriter.write(record + "\n");
+            }
+            journalWriter.flush();
+        } catch (IOException exception) {
+            throw new ManagerSaveException("Ошибка при записи в журнал. " + exception.getMessage(), exception);
+        }
+
+        recordsSinceSnapshot += records.size();
+        if (recordsSinceSnapshot >= compactionThreshold) {
+            compact();
+        }
+    }
+
+    // Закрыть поток записи в журнал
+    private void closeJournalWriter() {
+        if (journalWriter == null) {
+            return;
+        }
+
+        try {
+            journalWriter.close();
+        } catch (IOException exception) {
+            throw new ManagerSaveException("Ошибка при закрытии журнала. " + exception.getMessage(), exception);
+        } finally {
+            journalWriter = null;
+        }
+    }
+
+    // Сформировать запись журнала с задачей
+    // Для эпика дополнительно записываются id подзадач и дата окончания, которых нет в формате csv
+    private static String taskRecord(String operation, Task task) {
+        String record = operation + "," + task.toString();
+
+        if (task instanceof Epic epic) {
+            record += "," + epic.getSubtaskIDs().stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(SUBTASK_IDS_DELIMITER))
+                    + "," + epic.getEndTime().map(LocalDateTime::toString).orElse("");
+        }
+
+        return record;
+    }
+
+    // Восстановить состояние трекера из журнала
+    private void replay() {
+        List<String> records;
+        try {
+            records = journalFile.exists()
+                    ? Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8)
+                    : List.of();
+        } catch (IOException exception) {
+            throw new ManagerLoadException("Ошибка при чтении журнала. " + exception.getMessage(), exception);
+        }
+
+        // Записи снимка идут в начале журнала и восстанавливаются одним пакетом
+        List<Task> snapshot = new ArrayList<>();
+        int index = 0;
+        while (index < records.size() && records.get(index).startsWith(SNAPSHOT + ",")) {
+            Record record = parseRecord(records.get(index), index, records.size());
+            if (record != null) {
+                snapshot.add(record.task());
+            }
+            index++;
+        }
+        restoreTasks(snapshot);
+
+        // Повторяем остальные операции, не записывая их в журнал повторно
+        operationDepth++;
+        try {
+            for (; index < records.size(); index++) {
+                if (records.get(index).isBlank()) {
+                    continue;
+                }
+
+                Record record = parseRecord(records.get(index), index, records.size());
+                if (record != null) {
+                    apply(record);
+                }
+            }
+        } finally {
+            operationDepth--;
+        }
+    }
+
+    // Применить запись журнала к трекеру
+    private void apply(Record record) {
+        switch (record.operation()) {
+            case ADD -> {
+                switch (record.task()) {
+                    case Epic epic -> super.addEpic(epic);
+                    case Subtask subtask -> super.addSubtask(subtask);
+                    default -> super.addBasicTask(record.task());
+                }
+            }
+            case UPDATE -> {
+                switch (record.task()) {
+                    case Epic epic -> super.updateEpic(epic);
+                    case Subtask subtask -> super.updateSubtask(subtask);
+                    default -> super.updateBasicTask(record.task());
+                }
+            }
+            case REMOVE -> {
+                switch (record.type()) {
+                    case EPIC -> super.removeEpicById(record.id());
+                    case SUBTASK -> super.removeSubtaskById(record.id());
+                    default -> super.removeBasicTaskById(record.id());
+                }
+            }
+            case CLEAR -> {
+                switch (record.type()) {
+                    case EPIC -> super.removeAllEpics();
+                    case SUBTASK -> super.removeAllSubtasks();
+                    default -> super.removeAllBasicTasks();
+                }
+            }
+            default -> throw new ManagerLoadException("Неизвестная операция в журнале: " + record.operation());
+        }
+    }
+
+    // Разобрать запись журнала
+    // Некорректная последняя запись считается недописанной (например, при сбое) и пропускается
+    private static Record parseRecord(String line, int index, int recordsCount) {
+        try {
+            List<String> fields = CsvUtils.parseLine(line);
+            String operation = fields.getFirst();
+
+            if (operation.equals(REMOVE)) {
+                return new Record(operation, null, TaskType.valueOf(fields.get(1)), Integer.parseInt(fields.get(2)));
+            } else if (operation.equals(CLEAR)) {
+                return new Record(operation, null, TaskType.valueOf(fields.get(1)), 0);
+            }
+
+            Task task = TaskParser.parse(fields.subList(1, 1 + TaskParser.FIELDS_COUNT));
+            if (task instanceof Epic epic && fields.size() > 1 + TaskParser.FIELDS_COUNT) {
+                task = restoreEpic(epic, fields.get(1 + TaskParser.FIELDS_COUNT),
+                        fields.get(2 + TaskParser.FIELDS_COUNT));
+            }
+
+            return new Record(operation, task, null, task.getID());
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            if (index == recordsCount - 1) {
+                return null;
+            }
+            throw new ManagerLoadException("Ошибка при чтении записи журнала №" + (index + 1) + ". "
+                    + exception.getMessage(), exception);
+        }
+    }
+
+    // Восстановить эпик вместе с id его подзадач и датой окончания
+    private static Epic restoreEpic(Epic epic, String subtaskIDs, String endTime) {
+        List<Integer> ids = new ArrayList<>();
+        if (!subtaskIDs.isEmpty()) {
+            for (String subtaskID : subtaskIDs.split(SUBTASK_IDS_DELIMITER)) {
+                ids.add(Integer.parseInt(subtaskID));
+            }
+        }
+
+        return new Epic(epic.getID(), epic.getName(), epic.getDescription(), epic.getStatus(), ids,
+                epic.getStartTime().orElse(null), epic.getDuration(),
+                endTime.isEmpty() ? null : LocalDateTime.parse(endTime));
+    }
+
+    // Запись журнала (для операций с задачей заполняется task, для удаления - type и id)
+    private record Record(String operation, Task task, TaskType type, int id) {
+    }
+}
@@ -16,6 +16,11 @@ public final class Managers {
         return new InMemoryTaskManager(getDefaultHistory());
     }
 
+    // Создать объект класса ConcurrentTaskManager
+    public static ConcurrentTaskManager getConcurrentTaskManager() {
+        return new ConcurrentTaskManager();
+    }
+
     // Создать объект класса FileBackedTaskManager
     public static FileBackedTaskManager getFileBackedTaskManager() throws IOException {
         File saveFile = File.createTempFile("autoSave", ".csv");
@@ -24,8 +29,42 @@ public final class Managers {
         return new FileBackedTaskManager(saveFile);
     }
 
+    // Создать объект класса LogBackedTaskManager
+    public static LogBackedTaskManager getLogBackedTaskManager() throws IOException {
+        File journalFile = File.createTempFile("journal", ".log");
+        journalFile.deleteOnExit();
+
+        return new LogBackedTaskManager(journalFile);
+    }
+
     // Создать объект класса, реализующего HistoryManager, по умолчанию
     public static HistoryManager getDefaultHistory() {
         return new InMemoryHistoryManager();
     }
+
+    // Создать объект класса, реализующего HistoryManager, с ограничением размера истории
+    // (при переполнении вытесняется самый давний просмотр)
+    public static HistoryManager getDefaultHistory(int maxSize) {
+        return new InMemoryHistoryManager(maxSize);
+    }
+
+    // Создать объект класса ArrayHistoryManager (история на массивах без выделения памяти при просмотре)
+    public static ArrayHistoryManager getArrayHistoryManager() {
+        return new ArrayHistoryManager();
+    }
+
+    // Создать объект класса ArrayHistoryManager с ограничением размера истории
+    public static ArrayHistoryManager getArrayHistoryManager(int maxSize) {
+        return new ArrayHistoryManager(maxSize);
+    }
+
+    // Создать объект класса ConcurrentHistoryManager (история для параллельных просмотров без общего монитора)
+    public static ConcurrentHistoryManager getConcurrentHistoryManager() {
+        return new ConcurrentHistoryManager();
+    }
+
+    // Создать объект класса ConcurrentHistoryManager с ограничением размера истории
+    public static ConcurrentHistoryManager getConcurrentHistoryManager(int maxSize) {
+        return new ConcurrentHistoryManager(maxSize);
+    }
 }
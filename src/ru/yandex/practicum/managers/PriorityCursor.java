@@ -0,0 +1,47 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.Task;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// Позиция в списке задач, упорядоченном по приоритету (дата начала и id последней полученной задачи)
+// Используется для постраничного получения задач: следующая страница начинается сразу после курсора,
+// поэтому добавление и удаление задач между запросами не приводит к пропускам и повторам
+public record PriorityCursor(LocalDateTime startTime, int id) {
+    // Разделитель даты начала и id в строковом представлении курсора
+    private static final String SEPARATOR = "_";
+
+    // Конструктор record PriorityCursor с проверкой параметров
+    public PriorityCursor {
+        if (startTime == null) {
+            throw new IllegalArgumentException("Дата начала задачи в курсоре не может быть null");
+        }
+    }
+
+    // Создать курсор, указывающий на задачу
+    public static PriorityCursor of(Task task) {
+        return new PriorityCursor(task.getStartTime().orElse(null), task.getID());
+    }
+
+    // Получить курсор из строкового представления
+    public static PriorityCursor parse(String value) throws IllegalArgumentException {
+        int separatorIndex = value.lastIndexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException("Некорректный курсор: " + value);
+        }
+
+        try {
+            return new PriorityCursor(LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    Integer.parseInt(value.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException | NumberFormatException exception) {
+            throw new IllegalArgumentException("Некорректный курсор: " + value, exception);
+        }
+    }
+
+    // Строковое представление курсора вида <дата начала>_<id>
+    @Override
+    public String toString() {
+        return startTime + SEPARATOR + id;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.yandex.practicum.managers;
+
+import java.time.Duration;
+
+// Настройки сохранения задач в файл в FileBackedTaskManager
+// asynchronous - сохранять ли файл в фоновом потоке, объединяя несколько изменений в одну запись
+// maxDelay - максимальная задержка записи изменения в файл (для фонового сохранения)
+// maxBatchSize - количество изменений, при накоплении которого запись выполняется без ожидания maxDelay
+// fsyncInterval - периодичность принудительного сброса файла на диск:
+// null - не сбрасывать (решает ОС), Duration.ZERO - после каждой записи, иначе - не реже указанного интервала
+public record SaveSettings(boolean asynchronous, Duration maxDelay, int maxBatchSize, Duration fsyncInterval) {
+
+    // Конструктор record SaveSettings с проверкой параметров
+    public SaveSettings {
+        if (maxDelay == null || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Задержка записи не может быть отрицательной");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Размер пакета изменений должен быть положительным");
+        }
+        if (fsyncInterval != null && fsyncInterval.isNegative()) {
+            throw new IllegalArgumentException("Интервал сброса файла на диск не может быть отрицательным");
+        }
+    }
+
+    // Синхронное сохранение после каждого изменения (по умолчанию)
+    public static SaveSettings synchronous() {
+        return new SaveSettings(false, Duration.ZERO, 1, null);
+    }
+
+    // Фоновое сохранение с объединением изменений
+    public static SaveSettings asynchronous(Duration maxDelay, int maxBatchSize) {
+        return new SaveSettings(true, maxDelay, maxBatchSize, null);
+    }
+
+    // Копия настроек со сбросом файла на диск после каждой записи
+    public SaveSettings withFsyncOnEveryCommit() {
+        return new SaveSettings(asynchronous, maxDelay, maxBatchSize, Duration.ZERO);
+    }
+
+    // Копия настроек со сбросом файла на диск не реже указанного интервала
+    public SaveSettings withFsyncEvery(Duration interval) {
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Интервал сброса файла на диск должен быть положительным");
+        }
+        return new SaveSettings(asynchronous, maxDelay, maxBatchSize, interval);
+    }
+
+    // Нужно ли сбрасывать файл на диск после каждой записи
+    public boolean fsyncOnEveryCommit() {
+        return fsyncInterval != null && fsyncInterval.isZero();
+    }
+
+    // Нужно ли периодически сбрасывать файл на диск
+    public boolean periodicFsync() {
+        return fsyncInterval != null && !fsyncInterval.isZero();
+    }
+}
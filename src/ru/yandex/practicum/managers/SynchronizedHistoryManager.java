@@ -0,0 +1,39 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.Task;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Потокобезопасная обёртка над HistoryManager: все операции выполняются под общим монитором
+public class SynchronizedHistoryManager implements HistoryManager {
+    // Оборачиваемый менеджер истории
+    private final HistoryManager delegate;
+
+    // Конструктор класса SynchronizedHistoryManager
+    public SynchronizedHistoryManager(HistoryManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void addTask(Task task) {
+        delegate.addTask(task);
+    }
+
+    @Override
+    public synchronized List<Task> getHistory() {
+        return delegate.getHistory();
+    }
+
+    // Представление оборачиваемого менеджера нельзя обходить без монитора, поэтому возвращается копия
+    @Override
+    public synchronized Collection<Task> getHistoryView() {
+        return Collections.unmodifiableList(delegate.getHistory());
+    }
+
+    @Override
+    public synchronized void removeTask(int id) {
+        delegate.removeTask(id);
+    }
+}
@@ -0,0 +1,19 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskType;
+
+// Изменение задачи трекера
+// sequence - порядковый номер изменения (монотонно растёт в пределах трекера, начиная с 1)
+// action - вид изменения
+// taskType - тип задачи
+// id - id задачи
+// task - новая версия задачи (null при удалении); для эпика - с пересчитанными статусом и датами
+public record TaskChange(long sequence, Action action, TaskType taskType, int id, Task task) {
+    // Вид изменения
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,10 @@
+package ru.yandex.practicum.managers;
+
+// Слушатель изменений задач трекера
+// Вызывается синхронно в потоке, изменяющем трекер (в порядке изменений), поэтому не должен
+// надолго блокировать этот поток и не должен изменять трекер
+@FunctionalInterface
+public interface TaskChangeListener {
+
+    void onChange(TaskChange change);
+}
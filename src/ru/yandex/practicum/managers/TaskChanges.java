@@ -0,0 +1,11 @@
+package ru.yandex.practicum.managers;
+
+import java.util.List;
+
+// Изменения задач трекера, полученные из журнала изменений (см. TaskManager.getChanges)
+// lastSequence - номер последнего изменения трекера (с него следует продолжить получение изменений)
+// reset - запрошенные изменения недоступны (вытеснены из журнала или номер относится к другому трекеру),
+//         поэтому клиенту нужно перезагрузить задачи целиком
+// changes - изменения по порядку (пустой список при reset)
+public record TaskChanges(long lastSequence, boolean reset, List<TaskChange> changes) {
+}
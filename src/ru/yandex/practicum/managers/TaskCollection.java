@@ -0,0 +1,15 @@
+package ru.yandex.practicum.managers;
+
+// Коллекции трекера задач, для которых отслеживается номер версии
+public enum TaskCollection {
+    // Задачи (обычные)
+    BASIC_TASKS,
+    // Подзадачи
+    SUBTASKS,
+    // Эпики
+    EPICS,
+    // Задачи в порядке приоритета
+    PRIORITIZED,
+    // История просмотра
+    HISTORY
+}
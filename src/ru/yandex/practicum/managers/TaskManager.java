@@ -2,6 +2,9 @@ package ru.yandex.practicum.managers;
 
 import ru.yandex.practicum.tasks.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 // Интерфейс для предоставления функциональности трекера задач
@@ -25,6 +28,14 @@ public interface TaskManager {
 
     Epic getEpicById(int id);
 
+    // Получение задачи по id без добавления в историю просмотра трекера
+    // (например, если история просмотра ведётся отдельно для каждого клиента)
+    Task findBasicTaskById(int id);
+
+    Subtask findSubtaskById(int id);
+
+    Epic findEpicById(int id);
+
     void addBasicTask(Task task);
 
     void addSubtask(Subtask subtask);
@@ -50,4 +61,42 @@ public interface TaskManager {
     int nextId();
 
     List<Task> getPrioritizedTasks();
+
+    // Представления коллекций трекера только для чтения, без копирования в новый список
+    // Задачи неизменяемы, поэтому представления можно передавать, например, на сериализацию
+    Collection<Task> getBasicTasksView();
+
+    Collection<Subtask> getSubtasksView();
+
+    Collection<Epic> getEpicsView();
+
+    Collection<Task> getPrioritizedTasksView();
+
+    Collection<Task> getHistoryView();
+
+    // Номер версии трекера и его отдельных коллекций: монотонно растёт при каждом изменении
+    // (например, для формирования ETag); совпадение номеров означает, что содержимое не изменилось
+    long getVersion();
+
+    long getVersion(TaskCollection collection);
+
+    // Не более limit задач в порядке приоритета с датой начала в интервале [from, to), следующих после курсора
+    // (from, to и after могут быть null - тогда соответствующая граница не ограничена)
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, PriorityCursor after, int limit);
+
+    // Применить пакет операций создания, обновления и удаления задач по порядку
+    // Пакет применяется атомарно: если какая-либо операция невыполнима (пересечение по времени с учётом
+    // предыдущих операций пакета, обновление отсутствующей задачи, создание задачи с существующим id),
+    // трекер не изменяется
+    void applyBatch(List<BatchOperation> operations);
+
+    // Подписка на изменения задач (создание, обновление, удаление, в том числе пересчёт эпиков)
+    // Слушатель вызывается синхронно после каждого изменения в порядке изменений
+    void addChangeListener(TaskChangeListener listener);
+
+    void removeChangeListener(TaskChangeListener listener);
+
+    // Изменения задач с номером больше since из ограниченного журнала последних изменений
+    // Если таких изменений ещё нет, ожидает их появления не дольше timeout (Duration.ZERO - не ожидать)
+    TaskChanges getChanges(long since, Duration timeout) throws InterruptedException;
 }
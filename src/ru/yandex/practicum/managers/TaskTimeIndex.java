@@ -0,0 +1,99 @@
+package ru.yandex.practicum.managers;
+
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Индекс временных интервалов задач для проверки пересечений за O(log N)
+// Хранит только задачи с известными датой начала и окончания. Так как в индекс попадают лишь
+// непересекающиеся задачи, то при упорядочивании по дате начала их даты окончания тоже не убывают.
+// Поэтому для проверки пересечения достаточно найти ближайшего соседа слева от конца нового интервала
+public class TaskTimeIndex {
+    // Задачи, упорядоченные по дате начала, дате окончания, id и типу
+    // (id задач разных типов могут совпадать)
+    private final NavigableSet<Task> intervals;
+
+    // Конструктор класса TaskTimeIndex
+    public TaskTimeIndex() {
+        intervals = new TreeSet<>(Comparator.comparing((Task task) -> task.getStartTime().get())
+                .thenComparing(task -> task.getEndTime().get())
+                .thenComparingInt(Task::getID)
+                .thenComparing(TaskType::of));
+    }
+
+    // Добавить задачу в индекс (задачи без даты начала или окончания игнорируются)
+    public void add(Task task) {
+        if (isIndexable(task)) {
+            intervals.add(task);
+        }
+    }
+
+    // Удалить задачу из индекса (передаётся тот же объект, что был добавлен)
+    public void remove(Task task) {
+        if (isIndexable(task)) {
+            intervals.remove(task);
+        }
+    }
+
+    // Очистить индекс
+    public void clear() {
+        intervals.clear();
+    }
+
+    // Проверяет, пересекается ли задача с какой-либо задачей индекса
+    public boolean hasOverlapWith(Task task) {
+        return hasOverlapWith(task, null, Set.of());
+    }
+
+    // Проверяет, пересекается ли задача с какой-либо задачей индекса, кроме заменяемой ею задачи replaced
+    // (сравнивается по ссылке, т.к. задачи разных типов могут иметь одинаковый id)
+    public boolean hasOverlapWith(Task task, Task replaced) {
+        return hasOverlapWith(task, replaced, Set.of());
+    }
+
+    // Проверяет, пересекается ли задача с какой-либо задачей индекса, кроме задач из ignored
+    // (например, удаляемых или заменяемых пакетом операций)
+    public boolean hasOverlapWith(Task task, Set<Task> ignored) {
+        return hasOverlapWith(task, null, ignored);
+    }
+
+    // Проверяет, пересекается ли задача с какой-либо задачей индекса, кроме задачи replaced и задач из ignored
+    private boolean hasOverlapWith(Task task, Task replaced, Set<Task> ignored) {
+        if (!isIndexable(task)) {
+            return false;
+        }
+
+        // Пробная задача, которая располагается перед всеми задачами, начинающимися в момент окончания task
+        LocalDateTime endTime = task.getEndTime().get();
+        Task probe = new Task(Integer.MIN_VALUE, null, null, null, endTime, Duration.ZERO);
+
+        // Идём от задачи с наибольшей датой начала, меньшей endTime, пропуская заменяемую и игнорируемые задачи
+        Iterator<Task> candidates = intervals.headSet(probe, false).descendingIterator();
+        while (candidates.hasNext()) {
+            Task candidate = candidates.next();
+            if (candidate != replaced && !ignored.contains(candidate)) {
+                // У этого соседа наибольшая дата окончания, поэтому проверять остальные не нужно
+                return task.hasOverlapWith(candidate);
+            }
+        }
+
+        return false;
+    }
+
+    // Количество задач в индексе
+    public int size() {
+        return intervals.size();
+    }
+
+    // Проверяет, можно ли разместить задачу в индексе
+    private static boolean isIndexable(Task task) {
+        return task != null && task.getEndTime().isPresent();
+    }
+}
@@ -1,16 +1,35 @@
 package ru.yandex.practicum.server;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.sun.net.httpserver.HttpExchange;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
+import ru.yandex.practicum.managers.TaskCollection;
 import ru.yandex.practicum.managers.TaskManager;
 import ru.yandex.practicum.server.adapters.DurationAdapter;
 import ru.yandex.practicum.server.adapters.LocalDateTimeAdapter;
@@ -32,10 +51,19 @@ public abstract class BaseHttpHandler {
     protected final Gson gson;
     // Экземпляр класса, реализующего TaskManager
     protected final TaskManager taskManager;
+    // Префикс ETag, уникальный для экземпляра обработчика (у нового трекера номера версий начинаются заново)
+    private final String etagPrefix;
+    // Кеш сериализованных ответов со списками задач (по одному ответу на коллекцию трекера)
+    private final Map<TaskCollection, CachedResponse> responseCache;
+    // Истории просмотра отдельных клиентов (null, если ведётся только общая история трекера)
+    protected final ClientHistories clientHistories;
 
     // Конструктор класса BaseHttpHandler
-    protected BaseHttpHandler(TaskManager taskManager) {
+    protected BaseHttpHandler(TaskManager taskManager, ClientHistories clientHistories) {
         this.taskManager = taskManager;
+        this.clientHistories = clientHistories;
+        this.etagPrefix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        this.responseCache = new ConcurrentHashMap<>();
 
         // Конфигурируем JSON десериализатор списка задач
         TaskDeserializer deserializer = new TaskDeserializer("type");
@@ -52,6 +80,11 @@ public abstract class BaseHttpHandler {
                 .create();
     }
 
+    // Конструктор класса BaseHttpHandler (ведётся только общая история просмотра трекера)
+    protected BaseHttpHandler(TaskManager taskManager) {
+        this(taskManager, null);
+    }
+
     // Получить id задачи из пути
     protected Optional<Integer> getIdFromPath(String path) {
         String[] pathParts = path.split("/");
@@ -62,14 +95,206 @@ public abstract class BaseHttpHandler {
         }
     }
 
+    // Получить параметры строки запроса (при повторении параметра используется последнее значение)
+    protected Map<String, String> getQueryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+
+        for (String parameter : query.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            int separatorIndex = parameter.indexOf('=');
+            String name = separatorIndex < 0 ? parameter : parameter.substring(0, separatorIndex);
+            String value = separatorIndex < 0 ? "" : parameter.substring(separatorIndex + 1);
+            parameters.put(URLDecoder.decode(name, DEFAULT_CHARSET), URLDecoder.decode(value, DEFAULT_CHARSET));
+        }
+
+        return parameters;
+    }
+
+    // Получить идентификатор клиента из заголовка X-Client-Id
+    // Пустой Optional, если заголовок не передан или истории клиентов не ведутся
+    // (при некорректном идентификаторе выбрасывается IllegalArgumentException)
+    protected Optional<String> getClientId(HttpExchange exchange) {
+        String clientId = exchange.getRequestHeaders().getFirst(ClientHistories.CLIENT_ID_HEADER);
+        if (clientHistories == null || clientId == null) {
+            return Optional.empty();
+        }
+        if (!ClientHistories.isValidClientId(clientId)) {
+            throw new IllegalArgumentException("Некорректный идентификатор клиента");
+        }
+
+        return Optional.of(clientId);
+    }
+
+    // Получить задачу по id для просмотра
+    // Если запрос передан от имени клиента (см. getClientId), задача добавляется в историю клиента,
+    // а общая история трекера не изменяется; иначе задача добавляется в общую историю трекера
+    protected <T extends Task> T viewTask(HttpExchange exchange, int id,
+                                          IntFunction<T> getter, IntFunction<T> finder) {
+        Optional<String> clientId = getClientId(exchange);
+        if (clientId.isEmpty()) {
+            return getter.apply(id);
+        }
+
+        T task = finder.apply(id);
+        clientHistories.addTask(clientId.get(), task);
+        return task;
+    }
+
+    // Прочитать задачу указанного типа из тела запроса
+    // Тело разбирается один раз прямо из потока, без промежуточной строки и повторного разбора.
+    // Как и JsonParser, разбор нестрогий. Пустое тело и тело, не являющееся JSON-объектом,
+    // дают Optional.empty(), а синтаксические ошибки внутри объекта - JsonParseException
+    protected <T extends Task> Optional<T> readTask(InputStream body, Class<T> type) throws IOException {
+        JsonReader jsonReader = new JsonReader(new InputStreamReader(body, DEFAULT_CHARSET));
+        jsonReader.setStrictness(Strictness.LENIENT);
+
+        try {
+            if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                return Optional.empty();
+            }
+        } catch (EOFException exception) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(gson.fromJson(jsonReader, type));
+    }
+
+    // Добавить к ответу ETag по номеру версии коллекции трекера и, если клиент передал его
+    // в If-None-Match (т.е. коллекция не изменилась), отправить 304 Not Modified
+    // Возвращает true, если ответ отправлен. Версия читается до получения задач, поэтому ETag
+    // никогда не опережает содержимое ответа
+    protected boolean writeNotModifiedIfCurrent(HttpExchange exchange, TaskCollection collection) throws IOException {
+        String etag = "W/\"" + etagPrefix + "-" + collection.name().toLowerCase() + "-"
+                + taskManager.getVersion(collection) + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+
+        for (String header : exchange.getRequestHeaders().getOrDefault("If-None-Match", List.of())) {
+            for (String clientEtag : header.split(",")) {
+                String tag = clientEtag.trim();
+                // Сравнение слабое: префикс W/ не учитывается
+                if (tag.equals("*") || tag.replaceFirst("^W/", "").equals(etag.substring(2))) {
+                    writeResponse(exchange, "", 304);
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     // Отправить ответ с указанной строкой в теле и с указанным кодом
+    // Небольшое тело передаётся с заголовком Content-Length (пустое - как ответ без тела), поэтому
+    // ответ отправляется без chunked-кодирования, а соединение может быть переиспользовано клиентом.
+    // Большое тело сжимается gzip, если клиент указал его в Accept-Encoding (см. ResponseBodyStream)
     protected void writeResponse(HttpExchange exchange,
                                  String responseString, int responseCode) throws IOException {
-        try (OutputStream os = exchange.getResponseBody()) {
-            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
-            exchange.sendResponseHeaders(responseCode, 0);
+        try (OutputStream os = createResponseBody(exchange, responseCode)) {
             os.write(responseString.getBytes(DEFAULT_CHARSET));
         }
-        exchange.close();
     }
-}
\ No newline at end of file
+
+    // Отправить ответ со списком задач, сериализуя задачи по одной напрямую в тело ответа
+    // (без построения всего JSON-документа в памяти). Если ошибка сериализации произошла до отправки
+    // заголовков, исключение пробрасывается и обработчик может отправить ответ с ошибкой;
+    // после отправки заголовков ответ прерывается
+    protected void writeListResponse(HttpExchange exchange,
+                                     Collection<? extends Task> tasks, int responseCode) throws IOException {
+        ResponseBodyStream body = createResponseBody(exchange, responseCode);
+
+        try {
+            writeJsonArray(body, tasks);
+        } catch (RuntimeException | IOException exception) {
+            if (body.isCommitted()) {
+                exchange.close();
+            }
+            throw exception;
+        }
+    }
+
+    // Отправить ответ со всеми задачами коллекции трекера (код 200), используя кеш сериализованных ответов
+    // Пока номер версии коллекции не изменился, повторные запросы отправляют готовые байты (и готовое
+    // сжатое тело) без обращения к Gson. Версия читается до получения задач, поэтому задачи в кеше
+    // не старее своей версии, а после любого изменения коллекции ответ строится заново
+    protected void writeCachedListResponse(HttpExchange exchange, TaskCollection collection,
+                                           Supplier<? extends Collection<? extends Task>> tasks) throws IOException {
+        long version = taskManager.getVersion(collection);
+        CachedResponse response = responseCache.get(collection);
+
+        if (response == null || response.getVersion() != version) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            writeJsonArray(buffer, tasks.get());
+            response = new CachedResponse(version, buffer.toByteArray());
+            // Ответ по более старой версии не должен вытеснять ответ по более новой
+            responseCache.merge(collection, response,
+                    (current, created) -> current.getVersion() > created.getVersion() ? current : created);
+        }
+
+        byte[] body = response.getBody();
+        addResponseHeaders(exchange);
+        if (body.length >= ResponseBodyStream.COMPRESSION_THRESHOLD && acceptsGzip(exchange)) {
+            body = response.getGzipBody();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    // Записать список задач в поток в виде JSON-массива (поток закрывается)
+    private void writeJsonArray(OutputStream out, Collection<? extends Task> tasks) throws IOException {
+        JsonWriter jsonWriter = gson.newJsonWriter(new BufferedWriter(new OutputStreamWriter(out, DEFAULT_CHARSET)));
+
+        jsonWriter.beginArray();
+        for (Task task : tasks) {
+            gson.toJson(task, task.getClass(), jsonWriter);
+        }
+        jsonWriter.endArray();
+        jsonWriter.close();
+    }
+
+    // Создать поток тела ответа с учётом поддерживаемых клиентом способов сжатия
+    private ResponseBodyStream createResponseBody(HttpExchange exchange, int responseCode) {
+        addResponseHeaders(exchange);
+
+        return new ResponseBodyStream(exchange, responseCode, acceptsGzip(exchange));
+    }
+
+    // Добавить общие заголовки ответа
+    private static void addResponseHeaders(HttpExchange exchange) {
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
+        // Тело ответа зависит от Accept-Encoding, что важно для кеширующих прокси
+        exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+    }
+
+    // Поддерживает ли клиент сжатие gzip (по заголовку Accept-Encoding, с учётом q=0;
+    // явно указанный gzip имеет приоритет над *)
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        Boolean gzipAccepted = null;
+        Boolean anyAccepted = null;
+
+        for (String header : exchange.getRequestHeaders().getOrDefault("Accept-Encoding", List.of())) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim();
+                boolean accepted = parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+
+                if (name.equalsIgnoreCase("gzip")) {
+                    gzipAccepted = accepted;
+                } else if (name.equals("*")) {
+                    anyAccepted = accepted;
+                }
+            }
+        }
+
+        return gzipAccepted != null ? gzipAccepted : Boolean.TRUE.equals(anyAccepted);
+    }
+}
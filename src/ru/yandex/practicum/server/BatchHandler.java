@@ -0,0 +1,198 @@
+package ru.yandex.practicum.server;
+
+import com.google.gson.*;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import ru.yandex.practicum.exceptions.TaskAlreadyExistsException;
+import ru.yandex.practicum.exceptions.TaskNotFoundException;
+import ru.yandex.practicum.exceptions.TaskOverlapException;
+import ru.yandex.practicum.managers.BatchOperation;
+import ru.yandex.practicum.managers.TaskManager;
+import ru.yandex.practicum.tasks.*;
+
+// Обработчик пути /batch
+// Принимает JSON-массив операций, которые применяются к трекеру атомарно (см. TaskManager.applyBatch):
+// {"action": "create", "task": {...}} - создание задачи (тип задачи задаётся её полем type,
+//                                       при отсутствии id задаче присваивается новый id)
+// {"action": "update", "task": {...}} - обновление задачи или подзадачи
+// {"action": "delete", "type": "SUBTASK", "id": 5} - удаление задачи
+// Действие и тип задачи не зависят от регистра. Создание задачи с id уже существующей задачи
+// отклоняет весь пакет (409)
+// В ответе возвращается массив id задач в порядке операций
+public class BatchHandler extends BaseHttpHandler implements HttpHandler {
+    // Названия полей операции
+    private static final String ACTION_FIELD = "action";
+    private static final String TASK_FIELD = "task";
+    private static final String TYPE_FIELD = "type";
+    private static final String ID_FIELD = "id";
+
+    // Конструктор класса BatchHandler
+    public BatchHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+
+        if (method.equals(POST)) {
+            handlePostRequest(exchange, path);
+        } else {
+            writeResponse(exchange, "Метод не поддерживается", 405);
+        }
+    }
+
+    // Обработка POST-запросов
+    private void handlePostRequest(HttpExchange exchange, String path) throws IOException {
+        String[] pathParts = path.split("/");
+
+        if (pathParts.length == 2) { // POST /batch
+            List<BatchOperation> operations;
+
+            try {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                JsonElement jsonElement = JsonParser.parseString(body);
+
+                if (!jsonElement.isJsonArray()) { // проверяем, точно ли мы получили JSON-массив
+                    writeResponse(exchange, "Некорректный формат пакета операций", 400);
+                    return;
+                }
+
+                operations = new ArrayList<>();
+                for (JsonElement operationElement : jsonElement.getAsJsonArray()) {
+                    operations.add(parseOperation(operationElement));
+                }
+            } catch (DateTimeParseException dateTimeParseException) {
+                writeResponse(exchange, "Некорректный формат даты. Требуемый формат - dd.MM.yyyy HH:mm:ss",
+                        400);
+                return;
+            } catch (JsonParseException | IllegalArgumentException exception) {
+                writeResponse(exchange, "Некорректная операция пакета: " + exception.getMessage(), 400);
+                return;
+            } catch (Exception exception) {
+                writeResponse(exchange, "Ошибка при разборе пакета операций: " + exception.getMessage(), 500);
+                return;
+            }
+
+            try {
+                // id новым задачам присваиваются только после разбора всего пакета,
+                // поэтому некорректный пакет не расходует id
+                operations.replaceAll(this::assignId);
+                taskManager.applyBatch(operations);
+
+                JsonArray ids = new JsonArray();
+                operations.forEach(operation -> ids.add(operation.id()));
+                writeResponse(exchange, gson.toJson(ids), 201);
+            } catch (TaskNotFoundException taskNotFoundException) {
+                writeResponse(exchange, taskNotFoundException.getMessage(), 404);
+            } catch (TaskAlreadyExistsException taskAlreadyExistsException) {
+                writeResponse(exchange, taskAlreadyExistsException.getMessage(), 409);
+            } catch (TaskOverlapException taskOverlapException) {
+                writeResponse(exchange, "Ошибка при применении пакета операций: "
+                        + taskOverlapException.getMessage(), 406);
+            } catch (Exception exception) {
+                writeResponse(exchange, "Ошибка при применении пакета операций: "
+                        + exception.getMessage(), 500);
+            }
+        } else {
+            writeResponse(exchange, "Такого эндпоинта не существует", 404);
+        }
+    }
+
+    // Разобрать операцию пакета (создаваемым задачам без id новый id ещё не присваивается)
+    // Обязательные поля проверяются явно: некорректная операция приводит к IllegalArgumentException
+    private BatchOperation parseOperation(JsonElement operationElement) throws IllegalArgumentException {
+        if (!operationElement.isJsonObject()) {
+            throw new IllegalArgumentException("Операция должна быть JSON-объектом");
+        }
+        JsonObject operationObject = operationElement.getAsJsonObject();
+        BatchOperation.Action action = BatchOperation.Action.valueOf(
+                getRequiredString(operationObject, ACTION_FIELD).toUpperCase(Locale.ROOT));
+
+        if (action == BatchOperation.Action.DELETE) {
+            TaskType taskType = parseTaskType(getRequiredString(operationObject, TYPE_FIELD));
+            return BatchOperation.delete(taskType, getRequiredInt(operationObject, ID_FIELD));
+        }
+
+        JsonElement taskElement = operationObject.get(TASK_FIELD);
+        if (taskElement == null || !taskElement.isJsonObject()) {
+            throw new IllegalArgumentException("Не указана задача операции");
+        }
+        JsonObject taskObject = taskElement.getAsJsonObject();
+        JsonElement taskTypeElement = taskObject.get(TYPE_FIELD);
+        if (taskTypeElement != null) {
+            if (!isString(taskTypeElement)) {
+                throw new IllegalArgumentException("Некорректный тип задачи");
+            }
+            // Тип задачи приводится к имени константы TaskType, как и тип в операции удаления
+            taskObject = taskObject.deepCopy();
+            taskObject.addProperty(TYPE_FIELD, parseTaskType(taskTypeElement.getAsString()).name());
+        }
+
+        Task task = gson.fromJson(taskObject, Task.class);
+        if (action == BatchOperation.Action.UPDATE) {
+            // По спецификации нет опции обновления эпика (как и в POST /epics)
+            if (task instanceof Epic) {
+                throw new IllegalArgumentException("Обновление эпика не поддерживается");
+            }
+            return BatchOperation.update(task);
+        }
+
+        return BatchOperation.create(task);
+    }
+
+    // Присвоить id создаваемой задаче, переданной без id (эпик создаётся без подзадач)
+    private BatchOperation assignId(BatchOperation operation) {
+        if (operation.action() != BatchOperation.Action.CREATE) {
+            return operation;
+        }
+
+        Task task = operation.task();
+        int id = task.getID() > 0 ? task.getID() : taskManager.nextId();
+        return BatchOperation.create(switch (task) {
+            case Epic epic -> new Epic(id, epic.getName(), epic.getDescription());
+            case Subtask subtask -> new Subtask(id, subtask.getName(), subtask.getDescription(),
+                    subtask.getStatus(), subtask.getEpicID(), subtask.getStartTime().orElse(null),
+                    subtask.getDuration());
+            default -> new Task(id, task.getName(), task.getDescription(), task.getStatus(),
+                    task.getStartTime().orElse(null), task.getDuration());
+        });
+    }
+
+    // Разобрать тип задачи без учёта регистра
+    private static TaskType parseTaskType(String name) throws IllegalArgumentException {
+        return TaskType.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    // Получить обязательное строковое поле операции
+    private static String getRequiredString(JsonObject object, String field) throws IllegalArgumentException {
+        JsonElement element = object.get(field);
+        if (element == null || !isString(element)) {
+            throw new IllegalArgumentException("Не указано поле " + field);
+        }
+        return element.getAsString();
+    }
+
+    // Получить обязательное целочисленное поле операции
+    private static int getRequiredInt(JsonObject object, String field) throws IllegalArgumentException {
+        JsonElement element = object.get(field);
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber()) {
+            throw new IllegalArgumentException("Не указано поле " + field);
+        }
+        return element.getAsInt();
+    }
+
+    // Является ли элемент JSON строкой
+    private static boolean isString(JsonElement element) {
+        return element.isJsonPrimitive() && element.getAsJsonPrimitive().isString();
+    }
+}
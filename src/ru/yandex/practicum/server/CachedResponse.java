@@ -0,0 +1,50 @@
+package ru.yandex.practicum.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+// Сериализованный ответ со списком задач, соответствующий номеру версии коллекции трекера
+// Сжатое тело создаётся при первом запросе от клиента, поддерживающего gzip, и затем переиспользуется
+class CachedResponse {
+    // Номер версии коллекции трекера, по которой построен ответ
+    private final long version;
+    // Тело ответа (JSON в кодировке UTF-8)
+    private final byte[] body;
+    // Тело ответа, сжатое gzip (null, пока не запрошено)
+    private volatile byte[] gzipBody;
+
+    // Конструктор класса CachedResponse
+    CachedResponse(long version, byte[] body) {
+        this.version = version;
+        this.body = body;
+    }
+
+    // Получить номер версии коллекции трекера, по которой построен ответ
+    long getVersion() {
+        return version;
+    }
+
+    // Получить тело ответа
+    byte[] getBody() {
+        return body;
+    }
+
+    // Получить тело ответа, сжатое gzip
+    // При одновременных запросах тело может быть сжато несколько раз, но результат одинаков
+    byte[] getGzipBody() {
+        byte[] compressed = gzipBody;
+        if (compressed == null) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 8 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 8192)) {
+                gzip.write(body);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            compressed = buffer.toByteArray();
+            gzipBody = compressed;
+        }
+        return compressed;
+    }
+}
@@ -0,0 +1,177 @@
+package ru.yandex.practicum.server;
+
+import com.google.gson.Gson;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import ru.yandex.practicum.managers.TaskChange;
+import ru.yandex.practicum.managers.TaskChangeListener;
+import ru.yandex.practicum.managers.TaskChanges;
+import ru.yandex.practicum.managers.TaskManager;
+
+// Рассылка изменений задач трекера подписчикам /events
+// Переподключившийся клиент продолжает с последнего полученного номера изменения: пропущенные изменения
+// берутся из журнала изменений трекера (см. TaskManager.getChanges), а если журнал их уже не хранит,
+// клиенту передаётся событие reset. У каждого подписчика своя ограниченная очередь: подписчик,
+// не успевающий читать изменения, отключается (и может переподключиться, продолжив с того же номера),
+// поэтому медленный клиент не задерживает трекер и не расходует память без ограничений
+class ChangeBroadcaster implements TaskChangeListener {
+    // Размер очереди изменений подписчика
+    static final int SUBSCRIBER_QUEUE_SIZE = 256;
+
+    // Трекер задач, из журнала которого берутся пропущенные изменения
+    private final TaskManager taskManager;
+    // Объект класса Gson для сериализации изменений
+    private final Gson gson;
+    // Подписчики (защищено this)
+    private final Set<Subscriber> subscribers;
+    // Остановлена ли рассылка (защищено this)
+    private boolean closed;
+
+    // Конструктор класса ChangeBroadcaster
+    ChangeBroadcaster(TaskManager taskManager, Gson gson) {
+        this.taskManager = taskManager;
+        this.gson = gson;
+        subscribers = new HashSet<>();
+    }
+
+    // Получить изменение трекера (вызывается в потоке, изменяющем трекер)
+    @Override
+    public synchronized void onChange(TaskChange change) {
+        Event event = new Event(change);
+
+        for (Subscriber subscriber : subscribers) {
+            // Изменение уже передано подписчику из журнала при подписке
+            if (change.sequence() <= subscriber.replayedSequence) {
+                continue;
+            }
+            if (!subscriber.queue.offer(event)) {
+                subscriber.overflowed = true;
+            }
+        }
+    }
+
+    // Подписаться на изменения, начиная с изменения, следующего за afterSequence (-1 - только новые изменения)
+    // Если журнал трекера уже не хранит изменения после afterSequence (или номер относится к другому трекеру),
+    // подписчик должен перезагрузить задачи целиком (см. Subscriber.isReset)
+    // Журнал читается под монитором рассылки, поэтому изменения, записанные после чтения, попадут в очередь
+    // подписчика, а изменения, уже прочитанные из журнала, не будут переданы повторно
+    synchronized Subscriber subscribe(long afterSequence) throws InterruptedException {
+        Subscriber subscriber;
+        if (afterSequence < 0) {
+            subscriber = new Subscriber(List.of(), false, afterSequence);
+        } else {
+            TaskChanges changes = taskManager.getChanges(afterSequence, Duration.ZERO);
+            List<Event> backlog = changes.changes().stream().map(Event::new).toList();
+            subscriber = new Subscriber(backlog, changes.reset(), changes.lastSequence());
+        }
+
+        if (closed) {
+            subscriber.closed = true;
+        } else {
+            subscribers.add(subscriber);
+        }
+        return subscriber;
+    }
+
+    // Отписаться от изменений
+    synchronized void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    // Остановить рассылку и отключить всех подписчиков
+    synchronized void close() {
+        closed = true;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.closed = true;
+            // Будим поток подписчика, ожидающий изменений
+            subscriber.queue.offer(Event.WAKE_UP);
+        }
+        subscribers.clear();
+    }
+
+    // Изменение с его представлением в формате server-sent events (создаётся один раз для всех подписчиков)
+    private static final class Event {
+        // Пустое событие для пробуждения подписчика
+        private static final Event WAKE_UP = new Event(null);
+
+        // Изменение трекера
+        private final TaskChange change;
+        // Представление изменения в формате server-sent events
+        private volatile String frame;
+
+        // Конструктор класса Event
+        private Event(TaskChange change) {
+            this.change = change;
+        }
+    }
+
+    // Подписчик на изменения
+    final class Subscriber {
+        // Изменения, полученные из журнала при подписке и ещё не отправленные подписчику
+        private final List<Event> backlog;
+        // Нужно ли подписчику перезагрузить задачи целиком
+        private final boolean reset;
+        // Номер последнего изменения, прочитанного из журнала при подписке (-1, если журнал не читался)
+        private final long replayedSequence;
+        // Очередь изменений подписчика
+        private final BlockingQueue<Event> queue;
+        // Переполнилась ли очередь
+        private volatile boolean overflowed;
+        // Отключён ли подписчик
+        private volatile boolean closed;
+
+        // Конструктор класса Subscriber
+        private Subscriber(List<Event> backlog, boolean reset, long replayedSequence) {
+            this.backlog = backlog;
+            this.reset = reset;
+            this.replayedSequence = replayedSequence;
+            queue = new ArrayBlockingQueue<>(SUBSCRIBER_QUEUE_SIZE);
+        }
+
+        // Нужно ли подписчику перезагрузить задачи целиком
+        boolean isReset() {
+            return reset;
+        }
+
+        // Получить изменения, полученные до подписки, в формате server-sent events
+        List<String> takeBacklog() {
+            return backlog.stream().map(ChangeBroadcaster.this::toFrame).toList();
+        }
+
+        // Получить следующее изменение в формате server-sent events
+        // Возвращает null, если за время ожидания изменений не было или подписчик отключён
+        // (в этом случае isActive() возвращает false)
+        String poll(long timeout, TimeUnit unit) throws InterruptedException {
+            if (!isActive()) {
+                return null;
+            }
+            Event event = queue.poll(timeout, unit);
+            return event == null || event == Event.WAKE_UP || !isActive() ? null : toFrame(event);
+        }
+
+        // Продолжает ли подписчик получать изменения
+        boolean isActive() {
+            return !closed && !overflowed;
+        }
+    }
+
+    // Представить изменение в формате server-sent events
+    private String toFrame(Event event) {
+        String frame = event.frame;
+        if (frame == null) {
+            frame = "id: " + event.change.sequence() + "\n"
+                    + "event: " + event.change.action().name().toLowerCase(Locale.ROOT) + "\n"
+                    + "data: " + gson.toJson(event.change) + "\n\n";
+            event.frame = frame;
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.yandex.practicum.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ru.yandex.practicum.managers.TaskChange;
+import ru.yandex.practicum.managers.TaskChanges;
+import ru.yandex.practicum.managers.TaskManager;
+
+// Обработчик пути /changes (long polling)
+// GET /changes?since=N&timeout=S ожидает не дольше S секунд (по умолчанию 30) изменений задач с номером
+// больше N и возвращает их в сжатом виде: для каждой задачи только её итоговое состояние
+// {"lastSequence": M, "reset": false, "created": [...], "updated": [...], "deleted": [{"type": ..., "id": ...}]}
+// Следующий запрос передаёт since=M. Если reset = true, клиенту нужно перезагрузить задачи целиком.
+// Ожидание выполняется в отдельном виртуальном потоке, поэтому не занимает поток обработки запросов
+public class ChangesHandler extends BaseHttpHandler implements HttpHandler {
+    // Названия параметров запроса
+    private static final String SINCE_PARAMETER = "since";
+    private static final String TIMEOUT_PARAMETER = "timeout";
+    // Время ожидания изменений по умолчанию и максимальное (в секундах)
+    private static final long DEFAULT_TIMEOUT_SECONDS = 30;
+    private static final long MAX_TIMEOUT_SECONDS = 60;
+
+    // Конструктор класса ChangesHandler
+    public ChangesHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+
+        if (method.equals(GET)) {
+            handleGetRequest(exchange, path);
+        } else {
+            writeResponse(exchange, "Метод не поддерживается", 405);
+        }
+    }
+
+    // Обработка GET-запросов
+    private void handleGetRequest(HttpExchange exchange, String path) throws IOException {
+        String[] pathParts = path.split("/");
+
+        if (pathParts.length == 2) { // GET /changes?since=...&timeout=...
+            long since;
+            Duration timeout;
+            try {
+                Map<String, String> parameters = getQueryParameters(exchange);
+                if (!parameters.containsKey(SINCE_PARAMETER)) {
+                    throw new IllegalArgumentException("не указан параметр since");
+                }
+                since = Long.parseLong(parameters.get(SINCE_PARAMETER));
+                long timeoutSeconds = parameters.containsKey(TIMEOUT_PARAMETER)
+                        ? Long.parseLong(parameters.get(TIMEOUT_PARAMETER)) : DEFAULT_TIMEOUT_SECONDS;
+                if (since < 0 || timeoutSeconds < 0) {
+                    throw new IllegalArgumentException("параметры не могут быть отрицательными");
+                }
+                timeout = Duration.ofSeconds(Math.min(timeoutSeconds, MAX_TIMEOUT_SECONDS));
+            } catch (IllegalArgumentException exception) {
+                writeResponse(exchange, "Некорректные параметры запроса: " + exception.getMessage(), 400);
+                return;
+            }
+
+            Thread.ofVirtual().name("changes-long-poll").start(() -> writeChanges(exchange, since, timeout));
+        } else {
+            writeResponse(exchange, "Такого эндпоинта не существует", 404);
+        }
+    }
+
+    // Дождаться изменений и отправить их клиенту
+    private void writeChanges(HttpExchange exchange, long since, Duration timeout) {
+        try {
+            try {
+                TaskChanges changes = taskManager.getChanges(since, timeout);
+                writeResponse(exchange, gson.toJson(toDelta(changes)), 200);
+            } catch (InterruptedException exception) {
+                writeResponse(exchange, "Ожидание изменений прервано", 503);
+            } catch (Exception exception) {
+                writeResponse(exchange, "Ошибка при получении изменений: " + exception.getMessage(), 500);
+            }
+        } catch (IOException exception) {
+            // Клиент отключился, не дождавшись изменений
+            exchange.close();
+        }
+    }
+
+    // Свести изменения к итоговому состоянию каждой задачи
+    // Задача, созданная и удалённая после since, в ответ не попадает: клиент о ней не знает
+    private JsonObject toDelta(TaskChanges changes) {
+        // Первое и последнее изменение каждой задачи (в порядке первого изменения)
+        Map<String, TaskChange[]> changesByTask = new LinkedHashMap<>();
+        for (TaskChange change : changes.changes()) {
+            changesByTask.computeIfAbsent(change.taskType() + ":" + change.id(),
+                    key -> new TaskChange[]{change, change})[1] = change;
+        }
+
+        JsonArray created = new JsonArray();
+        JsonArray updated = new JsonArray();
+        JsonArray deleted = new JsonArray();
+        for (TaskChange[] taskChanges : changesByTask.values()) {
+            boolean isNew = taskChanges[0].action() == TaskChange.Action.CREATED;
+            TaskChange last = taskChanges[1];
+
+            if (last.action() != TaskChange.Action.DELETED) {
+                (isNew ? created : updated).add(gson.toJsonTree(last.task()));
+            } else if (!isNew) {
+                JsonObject deletedTask = new JsonObject();
+                deletedTask.addProperty("type", last.taskType().name());
+                deletedTask.addProperty("id", last.id());
+                deleted.add(deletedTask);
+            }
+        }
+
+        JsonObject delta = new JsonObject();
+        delta.addProperty("lastSequence", changes.lastSequence());
+        delta.addProperty("reset", changes.reset());
+        delta.add("created", created);
+        delta.add("updated", updated);
+        delta.add("deleted", deleted);
+        return delta;
+    }
+}
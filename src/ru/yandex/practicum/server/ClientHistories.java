@@ -0,0 +1,192 @@
+package ru.yandex.practicum.server;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import ru.yandex.practicum.managers.ArrayHistoryManager;
+import ru.yandex.practicum.managers.TaskChange;
+import ru.yandex.practicum.managers.TaskChangeListener;
+import ru.yandex.practicum.managers.TaskManager;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskType;
+
+// Истории просмотра задач отдельных клиентов HttpTaskServer
+// Клиент определяется по заголовку X-Client-Id. История каждого клиента ограничена по размеру и хранится
+// в ArrayHistoryManager (массивы растут только по мере заполнения истории), а истории клиентов,
+// не обращавшихся к серверу дольше idleTimeout, удаляются. Количество клиентов ограничено maxClients:
+// при появлении нового клиента сверх ограничения удаляется история клиента, дольше всех не обращавшегося
+// к серверу. Клиенты хранятся в порядке обращения, поэтому и неактивные, и вытесняемые клиенты находятся
+// в начале порядка и удаляются без обхода всех клиентов. Удалённые из трекера задачи удаляются
+// и из историй клиентов (по уведомлениям трекера об изменениях)
+public final class ClientHistories implements TaskChangeListener, AutoCloseable {
+    // Заголовок с идентификатором клиента
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    // Максимальная длина идентификатора клиента
+    public static final int MAX_CLIENT_ID_LENGTH = 128;
+
+    // Трекер задач, на изменения которого подписаны истории
+    private final TaskManager taskManager;
+    // Максимальный размер истории клиента
+    private final int historySize;
+    // Время бездействия клиента, после которого его история удаляется (в наносекундах)
+    private final long idleTimeoutNanos;
+    // Максимальное количество клиентов, истории которых хранятся
+    private final int maxClients;
+    // Источник текущего времени (в наносекундах)
+    private final LongSupplier nanoTime;
+    // Истории клиентов по идентификатору клиента в порядке обращения - от давнего к недавнему
+    // (защищены монитором самой мапы)
+    private final LinkedHashMap<String, ClientHistory> histories;
+
+    // Конструктор класса ClientHistories (подписывается на изменения трекера)
+    public ClientHistories(TaskManager taskManager, int historySize, Duration idleTimeout, int maxClients) {
+        this(taskManager, historySize, idleTimeout, maxClients, System::nanoTime);
+    }
+
+    // Конструктор класса ClientHistories с указанным источником времени
+    ClientHistories(TaskManager taskManager, int historySize, Duration idleTimeout, int maxClients,
+                    LongSupplier nanoTime) {
+        if (historySize <= 0) {
+            throw new IllegalArgumentException("Размер истории должен быть положительным");
+        }
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Время бездействия клиента должно быть положительным");
+        }
+        if (maxClients <= 0) {
+            throw new IllegalArgumentException("Количество клиентов должно быть положительным");
+        }
+
+        this.taskManager = taskManager;
+        this.historySize = historySize;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.maxClients = maxClients;
+        this.nanoTime = nanoTime;
+        // Порядок доступа: get и put переносят клиента в конец порядка
+        this.histories = new LinkedHashMap<>(16, 0.75f, true);
+        taskManager.addChangeListener(this);
+    }
+
+    // Проверяет идентификатор клиента (непустой, не длиннее MAX_CLIENT_ID_LENGTH символов)
+    public static boolean isValidClientId(String clientId) {
+        return clientId != null && !clientId.isBlank() && clientId.length() <= MAX_CLIENT_ID_LENGTH;
+    }
+
+    // Добавить задачу в историю просмотра клиента
+    public void addTask(String clientId, Task task) {
+        access(clientId, true).addTask(task);
+    }
+
+    // Получить историю просмотра клиента (пустую, если клиент ещё не просматривал задачи)
+    public List<Task> getHistory(String clientId) {
+        ClientHistory history = access(clientId, false);
+        return history == null ? List.of() : history.getHistory();
+    }
+
+    // Количество клиентов, истории которых хранятся
+    public int getClientCount() {
+        synchronized (histories) {
+            return histories.size();
+        }
+    }
+
+    // Удалённая из трекера задача удаляется из историй всех клиентов
+    // (если в истории под тем же id находится задача другого типа, она остаётся)
+    @Override
+    public void onChange(TaskChange change) {
+        if (change.action() != TaskChange.Action.DELETED) {
+            return;
+        }
+
+        List<ClientHistory> snapshot;
+        synchronized (histories) {
+            snapshot = new ArrayList<>(histories.values());
+        }
+        for (ClientHistory history : snapshot) {
+            history.removeTask(change.taskType(), change.id());
+        }
+    }
+
+    // Отписаться от изменений трекера и удалить все истории
+    @Override
+    public void close() {
+        taskManager.removeChangeListener(this);
+        synchronized (histories) {
+            histories.clear();
+        }
+    }
+
+    // Отметить обращение клиента и получить его историю (при отсутствии - создать, если create, иначе null)
+    // Заодно удаляются истории неактивных клиентов и клиентов сверх maxClients
+    private ClientHistory access(String clientId, boolean create) {
+        synchronized (histories) {
+            long now = nanoTime.getAsLong();
+            removeIdleClients(now);
+
+            ClientHistory history = histories.get(clientId);
+            if (history == null) {
+                if (!create) {
+                    return null;
+                }
+                history = new ClientHistory(historySize);
+                histories.put(clientId, history);
+                removeExcessClients();
+            }
+            history.lastAccessNanos = now;
+            return history;
+        }
+    }
+
+    // Удалить истории клиентов, не обращавшихся к серверу дольше idleTimeout (вызывается под монитором histories)
+    // Обход останавливается на первом активном клиенте: все следующие за ним обращались к серверу позже
+    private void removeIdleClients(long now) {
+        Iterator<ClientHistory> iterator = histories.values().iterator();
+        while (iterator.hasNext() && now - iterator.next().lastAccessNanos >= idleTimeoutNanos) {
+            iterator.remove();
+        }
+    }
+
+    // Удалить истории клиентов, дольше всех не обращавшихся к серверу, сверх maxClients
+    // (вызывается под монитором histories после добавления нового клиента в конец порядка)
+    private void removeExcessClients() {
+        Iterator<ClientHistory> iterator = histories.values().iterator();
+        while (histories.size() > maxClients) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // История просмотра одного клиента (операции с историей выполняются под монитором истории)
+    private static final class ClientHistory {
+        // История просмотра
+        private final ArrayHistoryManager historyManager;
+        // Время последнего обращения клиента (защищено монитором histories)
+        private long lastAccessNanos;
+
+        // Конструктор класса ClientHistory
+        private ClientHistory(int historySize) {
+            historyManager = new ArrayHistoryManager(historySize);
+        }
+
+        // Добавить задачу в историю
+        private synchronized void addTask(Task task) {
+            historyManager.addTask(task);
+        }
+
+        // Получить копию истории
+        private synchronized List<Task> getHistory() {
+            return historyManager.getHistory();
+        }
+
+        // Удалить задачу из истории, если под этим id в истории находится задача указанного типа
+        private synchronized void removeTask(TaskType type, int id) {
+            Task task = historyManager.getTask(id);
+            if (task != null && TaskType.of(task) == type) {
+                historyManager.removeTask(id);
+            }
+        }
+    }
+}
@@ -1,15 +1,14 @@
 package ru.yandex.practicum.server;
 
-import com.google.gson.*;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import ru.yandex.practicum.exceptions.TaskNotFoundException;
 import ru.yandex.practicum.exceptions.TaskOverlapException;
+import ru.yandex.practicum.managers.TaskCollection;
 import ru.yandex.practicum.managers.TaskManager;
 import ru.yandex.practicum.tasks.Epic;
 
@@ -20,6 +19,11 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
         super(taskManager);
     }
 
+    // Конструктор класса EpicsHandler с историями просмотра отдельных клиентов
+    public EpicsHandler(TaskManager taskManager, ClientHistories clientHistories) {
+        super(taskManager, clientHistories);
+    }
+
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         String method = exchange.getRequestMethod();
@@ -46,9 +50,11 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
 
         if (pathParts.length == 2) { // GET /epics
             try {
-                String epicsJson = gson.toJson(taskManager.getAllEpics());
+                if (writeNotModifiedIfCurrent(exchange, TaskCollection.EPICS)) {
+                    return;
+                }
 
-                writeResponse(exchange, epicsJson, 200);
+                writeCachedListResponse(exchange, TaskCollection.EPICS, taskManager::getEpicsView);
             } catch (Exception exception) {
                 writeResponse(exchange, "Ошибка при получении эпиков: " + exception.getMessage(),
                         500);
@@ -61,12 +67,15 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
                     return;
                 }
 
-                Epic epic = taskManager.getEpicById(maybeId.get());
+                Epic epic = viewTask(exchange, maybeId.get(),
+                        taskManager::getEpicById, taskManager::findEpicById);
                 String epicJson = gson.toJson(epic);
 
                 writeResponse(exchange, epicJson, 200);
             } catch (TaskNotFoundException taskNotFoundException) {
                 writeResponse(exchange, taskNotFoundException.getMessage(), 404);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                writeResponse(exchange, illegalArgumentException.getMessage(), 400);
             } catch (Exception exception) {
                 writeResponse(exchange, "Ошибка при получении эпика: " + exception.getMessage(),
                         500);
@@ -84,12 +93,13 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
                     return;
                 }
 
-                Epic epic = taskManager.getEpicById(maybeId.get());
-                String epicSubtasksJson = gson.toJson(taskManager.getAllEpicSubtasks(epic));
-
-                writeResponse(exchange, epicSubtasksJson, 200);
+                Epic epic = viewTask(exchange, maybeId.get(),
+                        taskManager::getEpicById, taskManager::findEpicById);
+                writeListResponse(exchange, taskManager.getAllEpicSubtasks(epic), 200);
             } catch (TaskNotFoundException taskNotFoundException) {
                 writeResponse(exchange, taskNotFoundException.getMessage(), 404);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                writeResponse(exchange, illegalArgumentException.getMessage(), 400);
             } catch (Exception exception) {
                 writeResponse(exchange, "Ошибка при получении эпика: " + exception.getMessage(),
                         500);
@@ -105,16 +115,14 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
 
         if (pathParts.length == 2) { // POST /epics
             try {
-                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
-                JsonElement jsonElement = JsonParser.parseString(body);
-
-                if (!jsonElement.isJsonObject()) { // проверяем, точно ли мы получили JSON-объект
+                // Парсим эпик прямо из тела запроса
+                Optional<Epic> maybeEpic = readTask(exchange.getRequestBody(), Epic.class);
+                if (maybeEpic.isEmpty()) { // проверяем, точно ли мы получили JSON-объект
                     writeResponse(exchange, "Некорректный формат эпика", 400);
                     return;
                 }
 
-                // Парсим эпик
-                Epic epic = gson.fromJson(body, Epic.class);
+                Epic epic = maybeEpic.get();
                 if (epic.getID() <= 0) { // Передан epic без id - создаём новый эпик в трекере
                     epic = new Epic(taskManager.nextId(), epic.getName(), epic.getDescription());
 
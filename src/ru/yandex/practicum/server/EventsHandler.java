@@ -0,0 +1,121 @@
+package ru.yandex.practicum.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import ru.yandex.practicum.managers.TaskManager;
+
+// Обработчик пути /events
+// Передаёт изменения задач в формате server-sent events: событие created, updated или deleted с номером
+// изменения в поле id и изменением (TaskChange) в формате JSON в поле data. Для продолжения получения
+// после переподключения клиент передаёт номер последнего полученного изменения в заголовке Last-Event-ID
+// (или в параметре since); если продолжить невозможно, передаётся событие reset и клиенту нужно
+// перезагрузить задачи целиком
+// Соединение обслуживается отдельным виртуальным потоком, поэтому не занимает поток обработки запросов
+public class EventsHandler extends BaseHttpHandler implements HttpHandler, AutoCloseable {
+    // Параметр запроса с номером последнего полученного изменения
+    private static final String SINCE_PARAMETER = "since";
+    // Заголовок с номером последнего полученного изменения
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    // Интервал отправки комментария для поддержания соединения (и обнаружения отключения клиента)
+    private static final long HEARTBEAT_INTERVAL_SECONDS = 15;
+
+    // Рассылка изменений трекера
+    private final ChangeBroadcaster broadcaster;
+
+    // Конструктор класса EventsHandler (подписывается на изменения трекера)
+    public EventsHandler(TaskManager taskManager) {
+        super(taskManager);
+        broadcaster = new ChangeBroadcaster(taskManager, gson);
+        taskManager.addChangeListener(broadcaster);
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+
+        if (method.equals(GET)) {
+            handleGetRequest(exchange, path);
+        } else {
+            writeResponse(exchange, "Метод не поддерживается", 405);
+        }
+    }
+
+    // Отписаться от изменений трекера и отключить всех клиентов
+    @Override
+    public void close() {
+        taskManager.removeChangeListener(broadcaster);
+        broadcaster.close();
+    }
+
+    // Обработка GET-запросов
+    private void handleGetRequest(HttpExchange exchange, String path) throws IOException {
+        String[] pathParts = path.split("/");
+
+        if (pathParts.length == 2) { // GET /events
+            long afterSequence;
+            try {
+                Map<String, String> parameters = getQueryParameters(exchange);
+                String lastEventId = exchange.getRequestHeaders().getFirst(LAST_EVENT_ID_HEADER);
+                if (lastEventId == null) {
+                    lastEventId = parameters.get(SINCE_PARAMETER);
+                }
+                afterSequence = lastEventId == null ? -1 : Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException exception) {
+                writeResponse(exchange, "Некорректный номер изменения", 400);
+                return;
+            }
+
+            ChangeBroadcaster.Subscriber subscriber;
+            try {
+                subscriber = broadcaster.subscribe(afterSequence);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                writeResponse(exchange, "Подписка на изменения прервана", 503);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream;charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+
+            Thread.ofVirtual().name("events-subscriber").start(() -> stream(exchange, subscriber));
+        } else {
+            writeResponse(exchange, "Такого эндпоинта не существует", 404);
+        }
+    }
+
+    // Передавать изменения клиенту, пока он подключён
+    private void stream(HttpExchange exchange, ChangeBroadcaster.Subscriber subscriber) {
+        try (OutputStream os = exchange.getResponseBody()) {
+            if (subscriber.isReset()) {
+                os.write("event: reset\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+            for (String frame : subscriber.takeBacklog()) {
+                os.write(frame.getBytes(StandardCharsets.UTF_8));
+            }
+            os.flush();
+
+            while (subscriber.isActive()) {
+                String frame = subscriber.poll(HEARTBEAT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+                if (frame != null) {
+                    os.write(frame.getBytes(StandardCharsets.UTF_8));
+                } else if (subscriber.isActive()) {
+                    os.write(": heartbeat\n\n".getBytes(StandardCharsets.UTF_8));
+                }
+                os.flush();
+            }
+        } catch (IOException | InterruptedException exception) {
+            // Клиент отключился или сервер останавливается
+        } finally {
+            broadcaster.unsubscribe(subscriber);
+            exchange.close();
+        }
+    }
+}
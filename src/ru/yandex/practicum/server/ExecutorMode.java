@@ -0,0 +1,11 @@
+package ru.yandex.practicum.server;
+
+// Способ обработки запросов HttpTaskServer
+public enum ExecutorMode {
+    // Все запросы обрабатываются последовательно в потоке-диспетчере HttpServer
+    SINGLE_THREAD,
+    // Запросы обрабатываются в пуле платформенных потоков фиксированного размера
+    FIXED_POOL,
+    // Каждый запрос обрабатывается в отдельном виртуальном потоке
+    VIRTUAL_THREADS
+}
@@ -4,7 +4,9 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 
 import java.io.IOException;
+import java.util.Optional;
 
+import ru.yandex.practicum.managers.TaskCollection;
 import ru.yandex.practicum.managers.TaskManager;
 
 // Обработчик пути /history
@@ -14,6 +16,11 @@ public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
         super(taskManager);
     }
 
+    // Конструктор класса HistoryHandler с историями просмотра отдельных клиентов
+    public HistoryHandler(TaskManager taskManager, ClientHistories clientHistories) {
+        super(taskManager, clientHistories);
+    }
+
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         String method = exchange.getRequestMethod();
@@ -32,9 +39,20 @@ public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
 
         if (pathParts.length == 2) { // GET /history
             try {
-                String historyJson = gson.toJson(taskManager.getHistory());
+                // История клиента, если запрос передан от его имени
+                Optional<String> clientId = getClientId(exchange);
+                if (clientId.isPresent()) {
+                    writeListResponse(exchange, clientHistories.getHistory(clientId.get()), 200);
+                    return;
+                }
+
+                if (writeNotModifiedIfCurrent(exchange, TaskCollection.HISTORY)) {
+                    return;
+                }
 
-                writeResponse(exchange, historyJson, 200);
+                writeCachedListResponse(exchange, TaskCollection.HISTORY, taskManager::getHistoryView);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                writeResponse(exchange, illegalArgumentException.getMessage(), 400);
             } catch (Exception exception) {
                 writeResponse(exchange, "Ошибка при получении истории просмотра задач: " +
                                 exception.getMessage(), 500);
@@ -4,48 +4,110 @@ import com.sun.net.httpserver.HttpServer;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import ru.yandex.practicum.managers.ConcurrentTaskManager;
 import ru.yandex.practicum.managers.Managers;
 import ru.yandex.practicum.managers.TaskManager;
 
 public class HttpTaskServer {
-    // Порт
-    private static final int PORT = 8080;
+    // Системное свойство встроенного HTTP-сервера, включающее TCP_NODELAY для соединений
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    // Настройки сервера
+    private final ServerSettings settings;
     // Экземпляр класса, реализующего TaskManager
     private final TaskManager taskManager;
     // HttpServer
     private HttpServer httpServer;
+    // Пул потоков для обработки запросов (null, если запросы обрабатываются в потоке-диспетчере)
+    private ExecutorService executor;
+    // Обработчик пути /events (подписан на изменения трекера, пока сервер запущен)
+    private EventsHandler eventsHandler;
+    // Истории просмотра отдельных клиентов (подписаны на изменения трекера, пока сервер запущен)
+    private ClientHistories clientHistories;
+
+    // Конструктор класса HttpTaskServer
+    // При параллельной обработке запросов трекер оборачивается в ConcurrentTaskManager,
+    // если он ещё не является потокобезопасным
+    public HttpTaskServer(TaskManager taskManager, ServerSettings settings) {
+        this.settings = settings;
+        this.taskManager = settings.executorMode() == ExecutorMode.SINGLE_THREAD
+                || taskManager instanceof ConcurrentTaskManager
+                ? taskManager
+                : new ConcurrentTaskManager(taskManager);
+    }
 
     // Конструктор класса HttpTaskServer
     public HttpTaskServer(TaskManager taskManager) {
-        this.taskManager = taskManager;
+        this(taskManager, ServerSettings.defaults());
     }
 
     // Точка входа
     public static void main(String[] args) throws IOException {
-        HttpTaskServer server = new HttpTaskServer(Managers.getInMemoryTaskManager());
+        ServerSettings settings = ServerSettings.fromArgs(args);
+        TaskManager taskManager = settings.executorMode() == ExecutorMode.SINGLE_THREAD
+                ? Managers.getInMemoryTaskManager()
+                : Managers.getConcurrentTaskManager();
+
+        HttpTaskServer server = new HttpTaskServer(taskManager, settings);
         server.start();
     }
 
     // Запустить сервер
     public void start() throws IOException {
+        if (settings.tcpNoDelay()) {
+            enableTcpNoDelay();
+        }
         // Создаём сервер
-        httpServer = HttpServer.create(new InetSocketAddress(PORT), 0);
+        httpServer = HttpServer.create(new InetSocketAddress(settings.port()), settings.backlog());
         // Регистрируем обработчики
-        httpServer.createContext("/tasks", new TasksHandler(taskManager));
-        httpServer.createContext("/subtasks", new SubtasksHandler(taskManager));
-        httpServer.createContext("/epics", new EpicsHandler(taskManager));
-        httpServer.createContext("/history", new HistoryHandler(taskManager));
+        clientHistories = new ClientHistories(taskManager, settings.clientHistorySize(), settings.clientIdleTimeout(),
+                settings.maxClients());
+        httpServer.createContext("/tasks", new TasksHandler(taskManager, clientHistories));
+        httpServer.createContext("/subtasks", new SubtasksHandler(taskManager, clientHistories));
+        httpServer.createContext("/epics", new EpicsHandler(taskManager, clientHistories));
+        httpServer.createContext("/history", new HistoryHandler(taskManager, clientHistories));
         httpServer.createContext("/prioritized", new PriorityHandler(taskManager));
+        httpServer.createContext("/batch", new BatchHandler(taskManager));
+        eventsHandler = new EventsHandler(taskManager);
+        httpServer.createContext("/events", eventsHandler);
+        httpServer.createContext("/changes", new ChangesHandler(taskManager));
+        // Настраиваем обработку запросов
+        executor = switch (settings.executorMode()) {
+            case SINGLE_THREAD -> null;
+            case FIXED_POOL -> Executors.newFixedThreadPool(settings.poolSize());
+            case VIRTUAL_THREADS -> Executors.newVirtualThreadPerTaskExecutor();
+        };
+        httpServer.setExecutor(executor);
         httpServer.start();
 
-        System.out.println("HTTP-сервер запущен на " + PORT + " порту");
+        System.out.println("HTTP-сервер запущен на " + settings.port() + " порту");
+    }
+
+    // Включить TCP_NODELAY для соединений встроенного HTTP-сервера
+    // Заголовки и тело ответа сервер отправляет отдельными записями в сокет. При включённом алгоритме Нейгла
+    // тело ждёт подтверждения заголовков, которое клиент откладывает (delayed ACK), и каждый запрос
+    // в keep-alive соединении задерживается примерно на 40 мс. Настройка задаётся системным свойством,
+    // которое действует на все HttpServer процесса и читается один раз при создании первого из них,
+    // поэтому включается только явно (см. ServerSettings) и не переопределяет явно заданное значение
+    private static void enableTcpNoDelay() {
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
     }
 
     // Остановить сервер
     public void stop() {
         if (httpServer != null) {
+            eventsHandler.close();
+            clientHistories.close();
             httpServer.stop(0);
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
             System.out.println("HTTP-сервер завершил работу");
         }
     }
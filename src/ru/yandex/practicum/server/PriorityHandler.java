@@ -4,11 +4,30 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
 
+import ru.yandex.practicum.managers.PriorityCursor;
+import ru.yandex.practicum.managers.TaskCollection;
 import ru.yandex.practicum.managers.TaskManager;
+import ru.yandex.practicum.tasks.Task;
 
 // Обработчик пути /prioritized
+// Поддерживаемые параметры запроса:
+// from, to - интервал дат начала задач [from, to) в формате ISO-8601 (например, 2025-01-01T10:00)
+// limit - максимальное количество задач в ответе
+// cursor - курсор из заголовка X-Next-Cursor предыдущего ответа (следующая страница)
 public class PriorityHandler extends BaseHttpHandler implements HttpHandler {
+    // Названия параметров запроса
+    private static final String FROM_PARAMETER = "from";
+    private static final String TO_PARAMETER = "to";
+    private static final String LIMIT_PARAMETER = "limit";
+    private static final String CURSOR_PARAMETER = "cursor";
+    // Заголовок с курсором следующей страницы
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     // Конструктор класса PriorityHandler
     public PriorityHandler(TaskManager taskManager) {
         super(taskManager);
@@ -30,11 +49,55 @@ public class PriorityHandler extends BaseHttpHandler implements HttpHandler {
     private void handleGetRequest(HttpExchange exchange, String path) throws IOException {
         String[] pathParts = path.split("/");
 
-        if (pathParts.length == 2) { // GET /prioritized
+        if (pathParts.length == 2 && getQueryParameters(exchange).isEmpty()) { // GET /prioritized
             try {
-                String priorityJson = gson.toJson(taskManager.getPrioritizedTasks());
+                if (writeNotModifiedIfCurrent(exchange, TaskCollection.PRIORITIZED)) {
+                    return;
+                }
+
+                writeCachedListResponse(exchange, TaskCollection.PRIORITIZED, taskManager::getPrioritizedTasksView);
+            } catch (Exception exception) {
+                writeResponse(exchange, "Ошибка при получении приоритезированного списка задач: " +
+                        exception.getMessage(), 500);
+            }
+        } else if (pathParts.length == 2) { // GET /prioritized?from=...&to=...&limit=...&cursor=...
+            LocalDateTime from;
+            LocalDateTime to;
+            int limit;
+            PriorityCursor cursor;
+
+            try {
+                Map<String, String> parameters = getQueryParameters(exchange);
+                from = parameters.containsKey(FROM_PARAMETER)
+                        ? LocalDateTime.parse(parameters.get(FROM_PARAMETER)) : null;
+                to = parameters.containsKey(TO_PARAMETER)
+                        ? LocalDateTime.parse(parameters.get(TO_PARAMETER)) : null;
+                limit = parameters.containsKey(LIMIT_PARAMETER)
+                        ? Integer.parseInt(parameters.get(LIMIT_PARAMETER)) : Integer.MAX_VALUE;
+                cursor = parameters.containsKey(CURSOR_PARAMETER)
+                        ? PriorityCursor.parse(parameters.get(CURSOR_PARAMETER)) : null;
+                if (limit <= 0) {
+                    throw new IllegalArgumentException("limit должен быть положительным");
+                }
+            } catch (DateTimeParseException | IllegalArgumentException exception) {
+                writeResponse(exchange, "Некорректные параметры запроса: " + exception.getMessage(), 400);
+                return;
+            }
+
+            try {
+                if (writeNotModifiedIfCurrent(exchange, TaskCollection.PRIORITIZED)) {
+                    return;
+                }
+
+                List<Task> tasks = taskManager.getPrioritizedTasks(from, to, cursor, limit);
+
+                // Если страница заполнена полностью, сообщаем курсор для получения следующей
+                if (tasks.size() == limit) {
+                    exchange.getResponseHeaders().add(NEXT_CURSOR_HEADER,
+                            PriorityCursor.of(tasks.getLast()).toString());
+                }
 
-                writeResponse(exchange, priorityJson, 200);
+                writeListResponse(exchange, tasks, 200);
             } catch (Exception exception) {
                 writeResponse(exchange, "Ошибка при получении приоритезированного списка задач: " +
                         exception.getMessage(), 500);
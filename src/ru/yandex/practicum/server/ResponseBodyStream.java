@@ -0,0 +1,99 @@
+package ru.yandex.practicum.server;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Поток тела HTTP-ответа, который выбирает способ отправки по размеру тела
+// Начало тела накапливается в буфере: если тело уместилось в буфер, оно отправляется целиком
+// с заголовком Content-Length; иначе заголовки отправляются без длины (chunked-кодирование),
+// а тело передаётся по мере записи - сжатым gzip, если клиент его поддерживает
+class ResponseBodyStream extends OutputStream {
+    // Размер тела, начиная с которого оно сжимается (меньшие тела сжимать невыгодно)
+    static final int COMPRESSION_THRESHOLD = 1024;
+    // Размер тела, начиная с которого несжимаемый ответ передаётся по мере записи
+    static final int STREAMING_THRESHOLD = 64 * 1024;
+
+    // Обмен, для которого формируется ответ
+    private final HttpExchange exchange;
+    // Код ответа
+    private final int responseCode;
+    // Сжимать ли тело ответа
+    private final boolean compress;
+    // Начало тела ответа (до отправки заголовков)
+    private final ByteArrayOutputStream buffer;
+    // Поток, в который пишется тело после отправки заголовков (null, пока заголовки не отправлены)
+    private OutputStream out;
+    // Закрыт ли поток
+    private boolean closed;
+
+    // Конструктор класса ResponseBodyStream
+    ResponseBodyStream(HttpExchange exchange, int responseCode, boolean compress) {
+        this.exchange = exchange;
+        this.responseCode = responseCode;
+        this.compress = compress;
+        buffer = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (out != null) {
+            out.write(bytes, offset, length);
+            return;
+        }
+
+        buffer.write(bytes, offset, length);
+        if (buffer.size() >= (compress ? COMPRESSION_THRESHOLD : STREAMING_THRESHOLD)) {
+            startStreaming();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    // Завершить ответ (если тело уместилось в буфер, то отправить его целиком)
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (out == null) {
+            exchange.sendResponseHeaders(responseCode, buffer.size() == 0 ? -1 : buffer.size());
+            out = exchange.getResponseBody();
+            buffer.writeTo(out);
+        }
+        // Закрытие потока тела ответа завершает обмен
+        out.close();
+    }
+
+    // Отправлены ли заголовки ответа (если нет, то вместо этого ответа ещё можно отправить другой)
+    boolean isCommitted() {
+        return out != null;
+    }
+
+    // Отправить заголовки и начать передачу тела по мере записи
+    private void startStreaming() throws IOException {
+        if (compress) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(responseCode, 0);
+
+        out = compress ? new GZIPOutputStream(exchange.getResponseBody(), 8192) : exchange.getResponseBody();
+        buffer.writeTo(out);
+        buffer.reset();
+    }
+}
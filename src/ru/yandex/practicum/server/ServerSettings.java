@@ -0,0 +1,157 @@
+package ru.yandex.practicum.server;
+
+import java.time.Duration;
+
+// Настройки HttpTaskServer
+// port - порт сервера
+// backlog - максимальная длина очереди входящих соединений (0 - значение по умолчанию системы)
+// executorMode - способ обработки запросов
+// poolSize - количество потоков в пуле (для ExecutorMode.FIXED_POOL)
+// clientHistorySize - максимальный размер истории просмотра отдельного клиента (см. ClientHistories)
+// clientIdleTimeout - время бездействия клиента, после которого его история просмотра удаляется
+// maxClients - максимальное количество клиентов, истории просмотра которых хранятся
+// tcpNoDelay - включить TCP_NODELAY для соединений (см. HttpTaskServer.start)
+public record ServerSettings(int port, int backlog, ExecutorMode executorMode, int poolSize,
+                             int clientHistorySize, Duration clientIdleTimeout, int maxClients,
+                             boolean tcpNoDelay) {
+    // Порт по умолчанию
+    public static final int DEFAULT_PORT = 8080;
+    // Длина очереди входящих соединений по умолчанию
+    public static final int DEFAULT_BACKLOG = 0;
+    // Максимальный размер истории просмотра клиента по умолчанию
+    public static final int DEFAULT_CLIENT_HISTORY_SIZE = 100;
+    // Время бездействия клиента по умолчанию
+    public static final Duration DEFAULT_CLIENT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    // Максимальное количество клиентов по умолчанию
+    public static final int DEFAULT_MAX_CLIENTS = 10_000;
+
+    // Конструктор record ServerSettings с проверкой параметров
+    public ServerSettings {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Некорректный порт: " + port);
+        }
+        if (backlog < 0) {
+            throw new IllegalArgumentException("Длина очереди соединений не может быть отрицательной");
+        }
+        if (executorMode == null) {
+            throw new IllegalArgumentException("Не указан способ обработки запросов");
+        }
+        if (executorMode == ExecutorMode.FIXED_POOL && poolSize <= 0) {
+            throw new IllegalArgumentException("Размер пула потоков должен быть положительным");
+        }
+        if (clientHistorySize <= 0) {
+            throw new IllegalArgumentException("Размер истории клиента должен быть положительным");
+        }
+        if (clientIdleTimeout == null || clientIdleTimeout.isNegative() || clientIdleTimeout.isZero()) {
+            throw new IllegalArgumentException("Время бездействия клиента должно быть положительным");
+        }
+        if (maxClients <= 0) {
+            throw new IllegalArgumentException("Количество клиентов должно быть положительным");
+        }
+    }
+
+    // Конструктор record ServerSettings с параметрами историй клиентов по умолчанию (TCP_NODELAY не включается)
+    public ServerSettings(int port, int backlog, ExecutorMode executorMode, int poolSize) {
+        this(port, backlog, executorMode, poolSize, DEFAULT_CLIENT_HISTORY_SIZE, DEFAULT_CLIENT_IDLE_TIMEOUT,
+                DEFAULT_MAX_CLIENTS, false);
+    }
+
+    // Настройки по умолчанию (порт 8080, обработка запросов в одном потоке)
+    public static ServerSettings defaults() {
+        return new ServerSettings(DEFAULT_PORT, DEFAULT_BACKLOG, ExecutorMode.SINGLE_THREAD, 1);
+    }
+
+    // Копия настроек с указанным портом
+    public ServerSettings withPort(int port) {
+        return new ServerSettings(port, backlog, executorMode, poolSize, clientHistorySize, clientIdleTimeout,
+                maxClients, tcpNoDelay);
+    }
+
+    // Копия настроек с указанной длиной очереди входящих соединений
+    public ServerSettings withBacklog(int backlog) {
+        return new ServerSettings(port, backlog, executorMode, poolSize, clientHistorySize, clientIdleTimeout,
+                maxClients, tcpNoDelay);
+    }
+
+    // Копия настроек с обработкой запросов в пуле платформенных потоков указанного размера
+    public ServerSettings withFixedPool(int poolSize) {
+        return new ServerSettings(port, backlog, ExecutorMode.FIXED_POOL, poolSize,
+                clientHistorySize, clientIdleTimeout, maxClients, tcpNoDelay);
+    }
+
+    // Копия настроек с обработкой каждого запроса в отдельном виртуальном потоке
+    public ServerSettings withVirtualThreads() {
+        return new ServerSettings(port, backlog, ExecutorMode.VIRTUAL_THREADS, poolSize,
+                clientHistorySize, clientIdleTimeout, maxClients, tcpNoDelay);
+    }
+
+    // Копия настроек с обработкой запросов в одном потоке
+    public ServerSettings withSingleThread() {
+        return new ServerSettings(port, backlog, ExecutorMode.SINGLE_THREAD, poolSize,
+                clientHistorySize, clientIdleTimeout, maxClients, tcpNoDelay);
+    }
+
+    // Копия настроек с указанными параметрами историй просмотра клиентов
+    public ServerSettings withClientHistories(int clientHistorySize, Duration clientIdleTimeout) {
+        return new ServerSettings(port, backlog, executorMode, poolSize, clientHistorySize, clientIdleTimeout,
+                maxClients, tcpNoDelay);
+    }
+
+    // Копия настроек с указанным максимальным количеством клиентов, истории просмотра которых хранятся
+    public ServerSettings withMaxClients(int maxClients) {
+        return new ServerSettings(port, backlog, executorMode, poolSize, clientHistorySize, clientIdleTimeout,
+                maxClients, tcpNoDelay);
+    }
+
+    // Копия настроек с включённым или выключенным TCP_NODELAY
+    public ServerSettings withTcpNoDelay(boolean tcpNoDelay) {
+        return new ServerSettings(port, backlog, executorMode, poolSize, clientHistorySize, clientIdleTimeout,
+                maxClients, tcpNoDelay);
+    }
+
+    // Разобрать настройки из аргументов командной строки вида --port=8080 --backlog=50
+    // --executor=virtual_threads --pool-size=16 --client-history-size=100 --client-idle-timeout=1800
+    // --max-clients=10000 --tcp-nodelay=false
+    // (время бездействия - в секундах; отсутствующие параметры берутся по умолчанию,
+    // TCP_NODELAY для запускаемого из командной строки сервера по умолчанию включён)
+    public static ServerSettings fromArgs(String[] args) {
+        int port = DEFAULT_PORT;
+        int backlog = DEFAULT_BACKLOG;
+        ExecutorMode executorMode = ExecutorMode.SINGLE_THREAD;
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        int clientHistorySize = DEFAULT_CLIENT_HISTORY_SIZE;
+        Duration clientIdleTimeout = DEFAULT_CLIENT_IDLE_TIMEOUT;
+        int maxClients = DEFAULT_MAX_CLIENTS;
+        boolean tcpNoDelay = true;
+
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Некорректный аргумент: " + arg);
+            }
+
+            switch (parts[0]) {
+                case "--port" -> port = Integer.parseInt(parts[1]);
+                case "--backlog" -> backlog = Integer.parseInt(parts[1]);
+                case "--executor" -> executorMode = ExecutorMode.valueOf(parts[1].toUpperCase());
+                case "--pool-size" -> poolSize = Integer.parseInt(parts[1]);
+                case "--client-history-size" -> clientHistorySize = Integer.parseInt(parts[1]);
+                case "--client-idle-timeout" -> clientIdleTimeout = Duration.ofSeconds(Long.parseLong(parts[1]));
+                case "--max-clients" -> maxClients = Integer.parseInt(parts[1]);
+                case "--tcp-nodelay" -> tcpNoDelay = parseBoolean(parts[1]);
+                default -> throw new IllegalArgumentException("Неизвестный аргумент: " + parts[0]);
+            }
+        }
+
+        return new ServerSettings(port, backlog, executorMode, poolSize, clientHistorySize, clientIdleTimeout,
+                maxClients, tcpNoDelay);
+    }
+
+    // Разобрать логическое значение аргумента (true или false)
+    private static boolean parseBoolean(String value) {
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Некорректное логическое значение: " + value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+}
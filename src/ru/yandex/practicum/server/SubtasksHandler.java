@@ -1,16 +1,15 @@
 package ru.yandex.practicum.server;
 
-import com.google.gson.*;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeParseException;
 import java.util.Optional;
 
 import ru.yandex.practicum.exceptions.TaskNotFoundException;
 import ru.yandex.practicum.exceptions.TaskOverlapException;
+import ru.yandex.practicum.managers.TaskCollection;
 import ru.yandex.practicum.managers.TaskManager;
 import ru.yandex.practicum.tasks.Subtask;
 
@@ -21,6 +20,11 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
         super(taskManager);
     }
 
+    // Конструктор класса SubtasksHandler с историями просмотра отдельных клиентов
+    public SubtasksHandler(TaskManager taskManager, ClientHistories clientHistories) {
+        super(taskManager, clientHistories);
+    }
+
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         String method = exchange.getRequestMethod();
@@ -47,9 +51,11 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
 
         if (pathParts.length == 2) { // GET /subtasks
             try {
-                String subtasksJson = gson.toJson(taskManager.getAllSubtasks());
+                if (writeNotModifiedIfCurrent(exchange, TaskCollection.SUBTASKS)) {
+                    return;
+                }
 
-                writeResponse(exchange, subtasksJson, 200);
+                writeCachedListResponse(exchange, TaskCollection.SUBTASKS, taskManager::getSubtasksView);
             } catch (Exception exception) {
                 writeResponse(exchange, "Ошибка при получении подзадач: " + exception.getMessage(),
                         500);
@@ -62,12 +68,15 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
                     return;
                 }
 
-                Subtask subtask = taskManager.getSubtaskById(maybeId.get());
+                Subtask subtask = viewTask(exchange, maybeId.get(),
+                        taskManager::getSubtaskById, taskManager::findSubtaskById);
                 String subtaskJson = gson.toJson(subtask);
 
                 writeResponse(exchange, subtaskJson, 200);
             } catch (TaskNotFoundException taskNotFoundException) {
                 writeResponse(exchange, taskNotFoundException.getMessage(), 404);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                writeResponse(exchange, illegalArgumentException.getMessage(), 400);
             } catch (Exception exception) {
                 writeResponse(exchange, "Ошибка при получении подзадачи: " + exception.getMessage(),
                         500);
@@ -83,16 +92,14 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
 
         if (pathParts.length == 2) { // POST /subtasks
             try {
-                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
-                JsonElement jsonElement = JsonParser.parseString(body);
-
-                if (!jsonElement.isJsonObject()) { // проверяем, точно ли мы получили JSON-объект
+                // Парсим подзадачу прямо из тела запроса
+                Optional<Subtask> maybeSubtask = readTask(exchange.getRequestBody(), Subtask.class);
+                if (maybeSubtask.isEmpty()) { // проверяем, точно ли мы получили JSON-объект
                     writeResponse(exchange, "Некорректный формат подзадачи", 400);
                     return;
                 }
 
-                // Парсим подзадачу
-                Subtask subtask = gson.fromJson(body, Subtask.class);
+                Subtask subtask = maybeSubtask.get();
                 if (subtask.getID() <= 0) { // Передан subtask без id - создаём новую подзадачу в трекере
                     subtask = new Subtask(taskManager.nextId(), subtask.getName(), subtask.getDescription(),
                             subtask.getStatus(), subtask.getEpicID(),
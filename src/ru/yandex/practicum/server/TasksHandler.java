@@ -1,16 +1,15 @@
 package ru.yandex.practicum.server;
 
-import com.google.gson.*;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeParseException;
 import java.util.Optional;
 
 import ru.yandex.practicum.exceptions.TaskNotFoundException;
 import ru.yandex.practicum.exceptions.TaskOverlapException;
+import ru.yandex.practicum.managers.TaskCollection;
 import ru.yandex.practicum.managers.TaskManager;
 import ru.yandex.practicum.tasks.Task;
 
@@ -21,6 +20,11 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
         super(taskManager);
     }
 
+    // Конструктор класса TasksHandler с историями просмотра отдельных клиентов
+    public TasksHandler(TaskManager taskManager, ClientHistories clientHistories) {
+        super(taskManager, clientHistories);
+    }
+
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         String method = exchange.getRequestMethod();
@@ -47,9 +51,11 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
 
         if (pathParts.length == 2) { // GET /tasks
             try {
-                String tasksJson = gson.toJson(taskManager.getAllBasicTasks());
+                if (writeNotModifiedIfCurrent(exchange, TaskCollection.BASIC_TASKS)) {
+                    return;
+                }
 
-                writeResponse(exchange, tasksJson, 200);
+                writeCachedListResponse(exchange, TaskCollection.BASIC_TASKS, taskManager::getBasicTasksView);
             } catch (Exception exception) {
                 writeResponse(exchange, "Ошибка при получении задач: " + exception.getMessage(),
                         500);
@@ -62,12 +68,15 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
                     return;
                 }
 
-                Task task = taskManager.getBasicTaskById(maybeId.get());
+                Task task = viewTask(exchange, maybeId.get(),
+                        taskManager::getBasicTaskById, taskManager::findBasicTaskById);
                 String taskJson = gson.toJson(task);
 
                 writeResponse(exchange, taskJson, 200);
             } catch (TaskNotFoundException taskNotFoundException) {
                 writeResponse(exchange, taskNotFoundException.getMessage(), 404);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                writeResponse(exchange, illegalArgumentException.getMessage(), 400);
             } catch (Exception exception) {
                 writeResponse(exchange, "Ошибка при получении задачи: " + exception.getMessage(),
                         500);
@@ -83,16 +92,14 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
 
         if (pathParts.length == 2) { // POST /tasks
             try {
-                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
-                JsonElement jsonElement = JsonParser.parseString(body);
-
-                if (!jsonElement.isJsonObject()) { // проверяем, точно ли мы получили JSON-объект
+                // Парсим задачу прямо из тела запроса
+                Optional<Task> maybeTask = readTask(exchange.getRequestBody(), Task.class);
+                if (maybeTask.isEmpty()) { // проверяем, точно ли мы получили JSON-объект
                     writeResponse(exchange, "Некорректный формат задачи", 400);
                     return;
                 }
 
-                // Парсим задачу
-                Task task = gson.fromJson(body, Task.class);
+                Task task = maybeTask.get();
                 if (task.getID() <= 0) { // Передан task без id - создаём новую задачу в трекере
                     task = new Task(taskManager.nextId(), task.getName(), task.getDescription(),
                             task.getStatus(), task.getStartTime().orElse(null), task.getDuration());
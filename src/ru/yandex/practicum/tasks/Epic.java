@@ -2,19 +2,24 @@ package ru.yandex.practicum.tasks;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
 
 import static ru.yandex.practicum.utils.CsvUtils.escapeSpecialCharacters;
 
 // Класс для описания эпика (большой задачи)
+// id подзадач хранятся в массиве int (без упаковки) и доступны только для чтения
 public class Epic extends Task {
+    // Пустой список id подзадач (общий для всех эпиков без подзадач)
+    private static final int[] NO_SUBTASKS = new int[0];
+
     // id подзадач, входящих в эпик
-    private final List<Integer> subtaskIDs;
+    private final int[] subtaskIDs;
 
     // Дата и время завершения задачи
-    private LocalDateTime endTime;
+    private final LocalDateTime endTime;
 
     // Конструктор класса Epic (для вновь создаваемых эпиков)
     public Epic(int id, String name, String description) {
@@ -25,45 +30,63 @@ public class Epic extends Task {
     // Конструктор класса Epic
     public Epic(int id, String name, String description, TaskStatus status, LocalDateTime startTime,
                 Duration duration) {
-        super(id, name, description, status, startTime, duration);
-        subtaskIDs = new ArrayList<>();
-        type = TaskType.EPIC;
+        this(id, name, description, status, List.of(), startTime, duration);
     }
 
     // Конструктор класса Epic
     public Epic(int id, String name, String description, TaskStatus status, List<Integer> subtaskIDs,
                 LocalDateTime startTime, Duration duration) {
-        this(id, name, description, status, startTime, duration);
-        // Не добавляем, если id подзадачи равен null или равен id самого эпика
-        subtaskIDs.stream()
-                .filter(subtaskID -> subtaskID != null && !subtaskID.equals(id))
-                .forEach(this.subtaskIDs::add);
+        this(id, name, description, status, subtaskIDs, startTime, duration, null);
     }
 
     // Конструктор класса Epic
     public Epic(int id, String name, String description, TaskStatus status, List<Integer> subtaskIDs,
                 LocalDateTime startTime, Duration duration, LocalDateTime endTime) {
-        this(id, name, description, status, subtaskIDs, startTime, duration);
+        super(id, name, description, status, startTime, duration, TaskType.EPIC);
+        // Не добавляем, если id подзадачи равен null или равен id самого эпика
+        int[] ids = subtaskIDs.stream()
+                .filter(subtaskID -> subtaskID != null && subtaskID != id)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.subtaskIDs = ids.length == 0 ? NO_SUBTASKS : ids;
         this.endTime = endTime;
     }
 
-    // Конструктор копирования класса Epic
-    protected Epic(Epic otherEpic) {
-        super(otherEpic);
-        this.subtaskIDs = new ArrayList<>(otherEpic.subtaskIDs);
-        this.endTime = otherEpic.endTime;
-        this.type = TaskType.EPIC;
+    // Конструктор класса Epic
+    // Массив id подзадач не копируется и не проверяется, поэтому не должен изменяться после передачи в эпик
+    // (так расчётные параметры трекера передают эпику список подзадач без затрат, растущих с их количеством)
+    public Epic(int id, String name, String description, TaskStatus status, int[] subtaskIDs,
+                LocalDateTime startTime, Duration duration, LocalDateTime endTime) {
+        super(id, name, description, status, startTime, duration, TaskType.EPIC);
+        this.subtaskIDs = subtaskIDs.length == 0 ? NO_SUBTASKS : subtaskIDs;
+        this.endTime = endTime;
     }
 
-    // Получить список id всех подзадач
+    // Получить список id всех подзадач (только для чтения)
     public List<Integer> getSubtaskIDs() {
-        return subtaskIDs;
+        // Эпик, полученный из JSON без поля subtaskIDs, не содержит подзадач
+        return new SubtaskIDs(subtaskIDs == null ? NO_SUBTASKS : subtaskIDs);
     }
 
-    // Возвращает копию текущего объекта Epic
-    @Override
-    public Epic copy() {
-        return new Epic(this);
+    // Список id подзадач только для чтения поверх массива эпика
+    private static final class SubtaskIDs extends AbstractList<Integer> implements RandomAccess {
+        // id подзадач
+        private final int[] ids;
+
+        // Конструктор класса SubtaskIDs
+        private SubtaskIDs(int[] ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return ids[index];
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
     }
 
     @Override
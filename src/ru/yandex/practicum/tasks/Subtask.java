@@ -9,24 +9,14 @@ import static ru.yandex.practicum.utils.CsvUtils.escapeSpecialCharacters;
 // Класс для описания подзадачи в рамках эпика
 public class Subtask extends Task {
     // id эпика, в рамках которого выполняется задача
-    private Integer epicID;
+    private final Integer epicID;
 
     // Конструктор класса Subtask
     public Subtask(int id, String name, String description, TaskStatus status, Integer epicID,
                    LocalDateTime startTime, Duration duration) {
-        super(id, name, description, status, startTime, duration);
+        super(id, name, description, status, startTime, duration, TaskType.SUBTASK);
         // Не добавляем, если id эпика равен id самой подзадачи
-        if (!Objects.equals(epicID, id)) {
-            this.epicID = epicID;
-        }
-        type = TaskType.SUBTASK;
-    }
-
-    // Конструктор копирования класса Subtask
-    protected Subtask(Subtask otherSubtask) {
-        super(otherSubtask);
-        this.epicID = otherSubtask.epicID;
-        this.type = TaskType.SUBTASK;
+        this.epicID = Objects.equals(epicID, id) ? null : epicID;
     }
 
     // Получить id эпика
@@ -34,12 +24,6 @@ public class Subtask extends Task {
         return epicID;
     }
 
-    // Возвращает копию текущего объекта Subtask
-    @Override
-    public Subtask copy() {
-        return new Subtask(this);
-    }
-
     @Override
     public String toString() {
         return getID() + "," + TaskType.SUBTASK.getDisplayName() + "," + escapeSpecialCharacters(getName()) + ","
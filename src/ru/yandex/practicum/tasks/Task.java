@@ -8,6 +8,8 @@ import java.util.Optional;
 import static ru.yandex.practicum.utils.CsvUtils.escapeSpecialCharacters;
 
 // Базовый класс для описания задачи
+// Задачи (в т.ч. подзадачи и эпики) неизменяемы: изменение задачи в трекере заменяет её новым объектом,
+// поэтому задачи можно без копирования хранить в истории просмотра и передавать между потоками
 public class Task {
     // Название
     private final String name;
@@ -23,28 +25,25 @@ public class Task {
     // Дата и время начала выполнения задачи
     private final LocalDateTime startTime;
 
-    // Тип задачи
-    protected TaskType type = TaskType.TASK;
+    // Тип задачи (сериализуется в JSON для определения класса задачи при десериализации)
+    private final TaskType type;
 
     // Конструктор класса Task
     public Task(int id, String name, String description, TaskStatus status, LocalDateTime startTime,
                 Duration duration) {
+        this(id, name, description, status, startTime, duration, TaskType.TASK);
+    }
+
+    // Конструктор класса Task с указанием типа задачи (для наследников)
+    protected Task(int id, String name, String description, TaskStatus status, LocalDateTime startTime,
+                   Duration duration, TaskType type) {
         this.id = id;
         this.name = name;
         this.description = description;
         this.status = status;
         this.startTime = startTime;
         this.duration = duration;
-    }
-
-    // Конструктор копирования класса Task
-    protected Task(Task otherTask) {
-        this.name = otherTask.getName();
-        this.description = otherTask.getDescription();
-        this.id = otherTask.getID();
-        this.status = otherTask.getStatus();
-        this.startTime = otherTask.getStartTime().orElse(null);
-        this.duration = otherTask.getDuration();
+        this.type = type;
     }
 
     // Получить имя задачи
@@ -77,11 +76,6 @@ public class Task {
         return Optional.ofNullable(startTime);
     }
 
-    // Возвращает копию текущего объекта Task
-    public Task copy() {
-        return new Task(this);
-    }
-
     // Получить дату и время завершения задачи
     public Optional<LocalDateTime> getEndTime() {
         return (startTime == null || duration == null)
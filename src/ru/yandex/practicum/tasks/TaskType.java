@@ -18,4 +18,14 @@ public enum TaskType {
     public String getDisplayName() {
         return displayName;
     }
+
+    // Определить тип задачи по её классу (поле type задачи, полученной из JSON, может быть не заполнено)
+    public static TaskType of(Task task) {
+        if (task instanceof Epic) {
+            return EPIC;
+        } else if (task instanceof Subtask) {
+            return SUBTASK;
+        }
+        return TASK;
+    }
 }
@@ -28,8 +28,11 @@ public final class TaskParser {
 
     // Метод для парсинга задач
     public static Task parse(String line) throws IllegalArgumentException {
-        List<String> parts = parseLine(line);
+        return parse(parseLine(line));
+    }
 
+    // Метод для парсинга задач из уже разобранных полей строки
+    public static Task parse(List<String> parts) throws IllegalArgumentException {
         if (parts.size() != FIELDS_COUNT) {
             throw new IllegalArgumentException("Некорректный формат строки");
         }
@@ -0,0 +1,58 @@
+package ru.yandex.practicum.managers;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Класс, содержащий тесты InMemoryTaskManager с историей просмотра на массивах (ArrayHistoryManager)
+class ArrayHistoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
+
+    @BeforeEach
+    protected void beforeEach() {
+        taskManager = new InMemoryTaskManager(Managers.getArrayHistoryManager());
+    }
+
+    // Проверяет, что история на массивах совпадает с историей InMemoryHistoryManager
+    // при случайных просмотрах и удалениях (с вытеснением и без)
+    @Test
+    void shouldMatchLinkedHistoryOnRandomOperations() {
+        for (int maxSize : new int[]{1, 7, 100, Integer.MAX_VALUE}) {
+            HistoryManager expected = new InMemoryHistoryManager(maxSize);
+            HistoryManager actual = Managers.getArrayHistoryManager(maxSize);
+            Random random = new Random(maxSize);
+
+            for (int i = 0; i < 20_000; i++) {
+                // Отрицательные id и 0 тоже должны поддерживаться
+                int id = random.nextInt(300) - 10;
+                if (random.nextInt(4) == 0) {
+                    expected.removeTask(id);
+                    actual.removeTask(id);
+                } else {
+                    Task task = new Task(id, "Task" + id, "description" + i, TaskStatus.NEW, null, null);
+                    expected.addTask(task);
+                    actual.addTask(task);
+                }
+            }
+
+            assertEquals(expected.getHistory(), actual.getHistory(), "История отличается при maxSize = " + maxSize);
+            assertEquals(List.copyOf(expected.getHistoryView()), List.copyOf(actual.getHistoryView()),
+                    "Представление истории отличается при maxSize = " + maxSize);
+            assertEquals(expected.getHistory().stream().map(Task::getDescription).toList(),
+                    actual.getHistory().stream().map(Task::getDescription).toList(),
+                    "В истории хранятся не последние просмотры при maxSize = " + maxSize);
+        }
+    }
+
+    // Проверяет, что размер истории должен быть положительным
+    @Test
+    void shouldNotCreateHistoryWithNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> Managers.getArrayHistoryManager(0),
+                "История нулевого размера не должна создаваться");
+    }
+}
@@ -0,0 +1,211 @@
+package ru.yandex.practicum.managers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import ru.yandex.practicum.exceptions.TaskOverlapException;
+import ru.yandex.practicum.tasks.*;
+
+// Класс, содержащий тесты ConcurrentTaskManager, в т.ч. многопоточные
+class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+    // Количество потоков
+    private static final int THREADS = 8;
+    // Количество операций в каждом потоке
+    private static final int OPERATIONS_PER_THREAD = 500;
+    // Дата начала, от которой размещаются задачи
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @BeforeEach
+    protected void beforeEach() {
+        taskManager = Managers.getConcurrentTaskManager();
+    }
+
+    // Запустить задачу одновременно в нескольких потоках и дождаться завершения
+    private void runConcurrently(IntConsumerTask task) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadIndex = thread;
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    task.run(threadIndex);
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Задача, выполняемая в потоке с заданным номером
+    @FunctionalInterface
+    private interface IntConsumerTask {
+        void run(int threadIndex) throws Exception;
+    }
+
+    // Проверяет, что при параллельном добавлении задач все они получают уникальные id и попадают в трекер
+    @Test
+    void shouldAddTasksConcurrentlyWithUniqueIds() throws InterruptedException, ExecutionException {
+        runConcurrently(threadIndex -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                LocalDateTime startTime = START.plusHours((long) threadIndex * OPERATIONS_PER_THREAD + i);
+                taskManager.addBasicTask(new Task(taskManager.nextId(), "task", "description", TaskStatus.NEW,
+                        startTime, Duration.ofMinutes(30)));
+
+                // Параллельные чтения не должны мешать изменениям
+                taskManager.getPrioritizedTasks();
+            }
+        });
+
+        List<Task> tasks = taskManager.getAllBasicTasks();
+        Set<Integer> ids = new HashSet<>();
+        tasks.forEach(task -> ids.add(task.getID()));
+
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, tasks.size(), "Не все задачи были добавлены в трекер");
+        assertEquals(tasks.size(), ids.size(), "Задачи получили повторяющиеся id");
+        assertEquals(tasks.size(), taskManager.getPrioritizedTasks().size(),
+                "Некорректный приоритезированный список задач");
+    }
+
+    // Проверяет, что из нескольких пересекающихся задач, добавляемых параллельно, в трекер попадает ровно одна
+    @Test
+    void shouldAdmitSingleTaskFromConcurrentOverlappingTasks() throws InterruptedException, ExecutionException {
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(threadIndex -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                // Все потоки претендуют на одни и те же интервалы
+                try {
+                    taskManager.addBasicTask(new Task(taskManager.nextId(), "task", "description",
+                            TaskStatus.NEW, START.plusHours(i).plusMinutes(threadIndex), Duration.ofMinutes(30)));
+                } catch (TaskOverlapException exception) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(OPERATIONS_PER_THREAD, taskManager.getAllBasicTasks().size(),
+                "Пересекающиеся задачи были добавлены в трекер");
+        assertEquals((THREADS - 1) * OPERATIONS_PER_THREAD, rejected.get(),
+                "Некорректное количество отклонённых задач");
+    }
+
+    // Проверяет согласованность эпика при параллельных изменениях его подзадач и чтениях
+    @Test
+    void shouldKeepEpicConsistentWhenSubtasksChangedConcurrently() throws InterruptedException, ExecutionException {
+        Epic epic = new Epic(taskManager.nextId(), "epic", "description");
+        taskManager.addEpic(epic);
+
+        runConcurrently(threadIndex -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                LocalDateTime startTime = START.plusHours((long) threadIndex * OPERATIONS_PER_THREAD + i);
+                Subtask subtask = new Subtask(taskManager.nextId(), "subtask", "description", TaskStatus.NEW,
+                        epic.getID(), startTime, Duration.ofMinutes(30));
+                taskManager.addSubtask(subtask);
+                taskManager.updateSubtask(new Subtask(subtask.getID(), "subtask", "description",
+                        TaskStatus.DONE, epic.getID(), startTime, Duration.ofMinutes(30)));
+
+                // Эпик, полученный в любой момент, согласован со своими подзадачами
+                Epic currentEpic = taskManager.getEpicById(epic.getID());
+                assertEquals(currentEpic.getSubtaskIDs().size(), taskManager.getAllEpicSubtasks(currentEpic).size(),
+                        "Список подзадач эпика не согласован с трекером");
+            }
+        });
+
+        Epic updatedEpic = taskManager.getEpicById(epic.getID());
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, updatedEpic.getSubtaskIDs().size(),
+                "Не все подзадачи были добавлены в эпик");
+        assertEquals(TaskStatus.DONE, updatedEpic.getStatus(), "Некорректный статус эпика");
+        assertEquals(Duration.ofMinutes(30L * THREADS * OPERATIONS_PER_THREAD), updatedEpic.getDuration(),
+                "Некорректная продолжительность эпика");
+        assertEquals(START, updatedEpic.getStartTime().get(), "Некорректная дата начала эпика");
+    }
+
+    // Проверяет, что снимок коллекции переиспользуется до изменения трекера и не меняется после него
+    @Test
+    void shouldReuseSnapshotUntilManagerChanges() {
+        taskManager.addBasicTask(new Task(1, "Задача", "Описание", TaskStatus.NEW, START, Duration.ofMinutes(30)));
+
+        // Повторное чтение без изменений возвращает тот же снимок
+        Collection<Task> snapshot = taskManager.getBasicTasksView();
+        assertSame(snapshot, taskManager.getBasicTasksView(), "Снимок создан повторно без изменения трекера");
+
+        // После изменения создаётся новый снимок, старый остаётся прежним
+        taskManager.addBasicTask(new Task(2, "Задача", "Описание", TaskStatus.NEW, START.plusHours(1),
+                Duration.ofMinutes(30)));
+        assertEquals(1, snapshot.size(), "Снимок изменился вместе с трекером");
+        assertEquals(2, taskManager.getBasicTasksView().size(), "Снимок не обновился после изменения трекера");
+    }
+
+    // Проверяет согласованность истории при параллельных просмотрах: без дубликатов, с учётом ограничения
+    // размера и с последними просмотрами в конце истории
+    @Test
+    void shouldKeepHistoryConsistentWhenTasksViewedConcurrently() throws InterruptedException, ExecutionException {
+        for (HistoryManager historyManager : List.of(Managers.getConcurrentHistoryManager(),
+                Managers.getConcurrentHistoryManager(50))) {
+            TaskManager manager = new ConcurrentTaskManager(new InMemoryTaskManager(historyManager), true);
+            int taskCount = 200;
+            for (int id = 1; id <= taskCount; id++) {
+                manager.addBasicTask(new Task(id, "task", "description", TaskStatus.NEW, null, null));
+            }
+
+            runConcurrently(threadIndex -> {
+                Random random = new Random(threadIndex);
+                for (int i = 0; i < OPERATIONS_PER_THREAD * 10; i++) {
+                    manager.getBasicTaskById(random.nextInt(taskCount) + 1);
+                    // Параллельные чтения истории
+                    if (i % 100 == 0) {
+                        List<Task> history = manager.getHistory();
+                        assertEquals(history.size(), new HashSet<>(history).size(), "История содержит дубликаты");
+                    }
+                }
+            });
+
+            // Последовательные просмотры после параллельных оказываются в конце истории по порядку
+            manager.getBasicTaskById(7);
+            manager.getBasicTaskById(3);
+            manager.getBasicTaskById(5);
+
+            List<Task> history = manager.getHistory();
+            List<Integer> ids = history.stream().map(Task::getID).toList();
+            assertEquals(history.size(), new HashSet<>(ids).size(), "История содержит дубликаты");
+            assertTrue(history.size() <= taskCount, "История содержит лишние задачи");
+            assertEquals(List.of(7, 3, 5), ids.subList(ids.size() - 3, ids.size()),
+                    "Последние просмотры не находятся в конце истории");
+            assertIterableEquals(history, manager.getHistoryView(), "Представление истории отличается");
+
+            // Удалённая задача удаляется из истории
+            manager.removeBasicTaskById(5);
+            assertFalse(manager.getHistory().contains(new Task(5, "task", "description", TaskStatus.NEW,
+                    null, null)), "Удалённая задача осталась в истории");
+        }
+
+        // История ограниченного размера содержит ровно 50 последних просмотров
+        HistoryManager bounded = Managers.getConcurrentHistoryManager(50);
+        for (int id = 1; id <= 500; id++) {
+            bounded.addTask(new Task(id, "task", "description", TaskStatus.NEW, null, null));
+        }
+        assertEquals(451, bounded.getHistory().getFirst().getID(), "Некорректное вытеснение давних просмотров");
+        assertEquals(50, bounded.getHistory().size(), "Некорректный размер истории");
+    }
+}
@@ -2,14 +2,17 @@ package ru.yandex.practicum.managers;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import ru.yandex.practicum.exceptions.ManagerSaveException;
 import ru.yandex.practicum.exceptions.TaskNotFoundException;
 import ru.yandex.practicum.tasks.*;
 import ru.yandex.practicum.utils.TaskParser;
@@ -383,4 +386,163 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
         assertEquals(2, taskManagerFromFile.getAllBasicTasks().size(),
                 "Некорректное добавление задач в трекер");
     }
-}
\ No newline at end of file
+
+    // Проверяет, что при загрузке из файла подзадачи привязываются к эпику независимо от порядка строк,
+    // параметры эпика рассчитываются, а файл автосохранения содержит все загруженные задачи
+    @Test
+    void shouldRestoreEpicParamsWhenSubtasksPrecedeEpicInFile() throws IOException {
+        Epic epic = new Epic(1, "epic", "description");
+        Subtask subtask1 = new Subtask(2, "subtask1", "description", TaskStatus.DONE, 1,
+                LocalDateTime.of(2022, 2, 20, 13, 0), Duration.ofMinutes(60));
+        Subtask subtask2 = new Subtask(3, "subtask2", "description", TaskStatus.NEW, 1,
+                LocalDateTime.of(2022, 2, 21, 13, 0), Duration.ofMinutes(30));
+
+        // Записываем подзадачи перед эпиком
+        File unorderedFile = File.createTempFile("testUnordered", ".csv");
+        unorderedFile.deleteOnExit();
+        try (Writer writer = new FileWriter(unorderedFile, StandardCharsets.UTF_8)) {
+            writer.write(TaskParser.HEADER + "\n" + subtask1 + "\n" + subtask2 + "\n" + epic + "\n");
+        }
+
+        FileBackedTaskManager taskManagerFromFile = FileBackedTaskManager.loadFromFile(unorderedFile, saveFile);
+
+        // Проверяем параметры эпика
+        Epic restoredEpic = taskManagerFromFile.getEpicById(1);
+        assertEquals(List.of(2, 3), restoredEpic.getSubtaskIDs(), "Некорректные подзадачи эпика");
+        assertEquals(TaskStatus.IN_PROGRESS, restoredEpic.getStatus(), "Некорректный статус эпика");
+        assertEquals(subtask1.getStartTime().get(), restoredEpic.getStartTime().get(),
+                "Некорректная дата начала эпика");
+        assertEquals(subtask2.getEndTime().get(), restoredEpic.getEndTime().get(),
+                "Некорректная дата окончания эпика");
+        assertEquals(Duration.ofMinutes(90), restoredEpic.getDuration(), "Некорректная продолжительность эпика");
+        assertEquals(2, taskManagerFromFile.getPrioritizedTasks().size(),
+                "Некорректный приоритезированный список задач");
+
+        // Проверяем, что файл автосохранения содержит восстановленное состояние
+        File reloadFile = File.createTempFile("testReload", ".csv");
+        reloadFile.deleteOnExit();
+        FileBackedTaskManager reloadedTaskManager = FileBackedTaskManager.loadFromFile(saveFile, reloadFile);
+        assertEquals(1, reloadedTaskManager.getAllEpics().size(), "Эпик не был сохранён в файл");
+        assertEquals(2, reloadedTaskManager.getAllSubtasks().size(), "Подзадачи не были сохранены в файл");
+    }
+
+    // Прочитать содержимое файла
+    private static String readFile(File file) throws IOException {
+        return Files.readString(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    // Проверяет, что при фоновом сохранении изменения накапливаются и записываются по вызову flush()
+    @Test
+    void shouldCoalesceChangesUntilFlushWhenSavingAsynchronously() throws IOException {
+        try (FileBackedTaskManager asyncTaskManager = new FileBackedTaskManager(saveFile,
+                SaveSettings.asynchronous(Duration.ofHours(1), 1000).withFsyncOnEveryCommit())) {
+            Task task1 = new Task(asyncTaskManager.nextId(), "task1", "description", TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60));
+            Task task2 = new Task(asyncTaskManager.nextId(), "task2", "description", TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 2, 10, 0), Duration.ofMinutes(60));
+            asyncTaskManager.addBasicTask(task1);
+            asyncTaskManager.addBasicTask(task2);
+
+            // До истечения задержки файл не перезаписывается
+            assertEquals("", readFile(saveFile), "Файл был перезаписан до истечения задержки");
+
+            // После flush() файл содержит все изменения
+            asyncTaskManager.flush();
+            assertEquals(TaskParser.HEADER + "\n" + task1 + "\n" + task2 + "\n", readFile(saveFile),
+                    "Некорректная запись задач в файл");
+        }
+    }
+
+    // Проверяет, что при накоплении пакета изменений файл записывается без ожидания задержки
+    @Test
+    void shouldWriteFullBatchWithoutWaitingForDelay() throws IOException, InterruptedException {
+        try (FileBackedTaskManager asyncTaskManager = new FileBackedTaskManager(saveFile,
+                SaveSettings.asynchronous(Duration.ofHours(1), 2).withFsyncEvery(Duration.ofMillis(10)))) {
+            Task task1 = new Task(asyncTaskManager.nextId(), "task1", "description", TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60));
+            Task task2 = new Task(asyncTaskManager.nextId(), "task2", "description", TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 2, 10, 0), Duration.ofMinutes(60));
+            asyncTaskManager.addBasicTask(task1);
+            asyncTaskManager.addBasicTask(task2);
+
+            // Ожидаем фоновую запись
+            String expectedContent = TaskParser.HEADER + "\n" + task1 + "\n" + task2 + "\n";
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!expectedContent.equals(readFile(saveFile)) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(expectedContent, readFile(saveFile), "Пакет изменений не был записан в файл");
+        }
+    }
+
+    // Проверяет, что изменения, не записанные из-за ошибки, сохраняются следующим вызовом flush()
+    @Test
+    void shouldWriteLatestStateOnFlushAfterFailedWrite() throws IOException {
+        File saveDirectory = Files.createTempDirectory("testSaveFailure").toFile();
+        saveDirectory.deleteOnExit();
+        File unwritableFile = new File(saveDirectory, "save.csv");
+        unwritableFile.deleteOnExit();
+        // Файл нельзя записать, пока на его месте находится каталог
+        assertTrue(unwritableFile.mkdir(), "Не удалось создать каталог на месте файла");
+
+        FileBackedTaskManager failingTaskManager = new FileBackedTaskManager(unwritableFile);
+        Task task = new Task(failingTaskManager.nextId(), "task", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60));
+        assertThrows(ManagerSaveException.class, () -> failingTaskManager.addBasicTask(task),
+                "Ошибка записи файла не была проброшена");
+
+        assertTrue(unwritableFile.delete(), "Не удалось удалить каталог на месте файла");
+        failingTaskManager.flush();
+        assertEquals(TaskParser.HEADER + "\n" + task + "\n", readFile(unwritableFile),
+                "Изменения, не записанные из-за ошибки, были потеряны");
+    }
+
+    // Проверяет, что при фоновом сохранении изменение, при котором была проброшена ошибка прошлой записи,
+    // не теряется и записывается вызовом flush()
+    @Test
+    void shouldKeepChangesAfterFailedBackgroundWrite() throws IOException, InterruptedException {
+        File saveDirectory = Files.createTempDirectory("testSaveFailure").toFile();
+        saveDirectory.deleteOnExit();
+        File unwritableFile = new File(saveDirectory, "save.csv");
+        unwritableFile.deleteOnExit();
+        assertTrue(unwritableFile.mkdir(), "Не удалось создать каталог на месте файла");
+
+        try (FileBackedTaskManager asyncTaskManager = new FileBackedTaskManager(unwritableFile,
+                SaveSettings.asynchronous(Duration.ofHours(1), 2))) {
+            Task task1 = new Task(asyncTaskManager.nextId(), "task1", "description", TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60));
+            Task task2 = new Task(asyncTaskManager.nextId(), "task2", "description", TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 2, 10, 0), Duration.ofMinutes(60));
+            asyncTaskManager.addBasicTask(task1);
+            // Пакет заполнен - запускается фоновая запись, которая завершится ошибкой
+            boolean failureReported = false;
+            try {
+                asyncTaskManager.addBasicTask(task2);
+            } catch (ManagerSaveException exception) {
+                failureReported = true;
+            }
+
+            // Изменяем задачу, пока ошибка фоновой записи не будет проброшена
+            Task updatedTask = task1;
+            int attempt = 0;
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!failureReported && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+                updatedTask = new Task(task1.getID(), "task1", "update " + ++attempt, TaskStatus.DONE,
+                        task1.getStartTime().get(), task1.getDuration());
+                try {
+                    asyncTaskManager.updateBasicTask(updatedTask);
+                } catch (ManagerSaveException exception) {
+                    failureReported = true;
+                }
+            }
+            assertTrue(failureReported, "Ошибка фоновой записи не была проброшена");
+
+            assertTrue(unwritableFile.delete(), "Не удалось удалить каталог на месте файла");
+            asyncTaskManager.flush();
+            assertEquals(TaskParser.HEADER + "\n" + updatedTask + "\n" + task2 + "\n", readFile(unwritableFile),
+                    "Изменение, при котором была проброшена ошибка, не было записано в файл");
+        }
+    }
+}
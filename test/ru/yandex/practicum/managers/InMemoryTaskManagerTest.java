@@ -1,6 +1,14 @@
 package ru.yandex.practicum.managers;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 // Класс, содержащий тесты, относящиеся к специфическим методам InMemoryTaskManager
 class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
@@ -9,4 +17,63 @@ class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
     protected void beforeEach() {
         taskManager = Managers.getInMemoryTaskManager();
     }
-}
\ No newline at end of file
+
+    // Проверяет вытеснение самых давних просмотров из истории ограниченного размера
+    @Test
+    void shouldEvictOldestViewsWhenHistoryIsFull() {
+        // Создадим трекер с историей из трёх задач и добавим в него пять задач
+        InMemoryTaskManager manager = new InMemoryTaskManager(Managers.getDefaultHistory(3));
+        for (int id = 1; id <= 5; id++) {
+            manager.addBasicTask(new Task(id, "Task" + id, "description", TaskStatus.NEW, null, null));
+        }
+
+        // Просмотрим все задачи по порядку
+        for (int id = 1; id <= 5; id++) {
+            manager.getBasicTaskById(id);
+        }
+
+        // В истории должны остаться три последних просмотра
+        assertEquals(List.of(3, 4, 5), manager.getHistory().stream().map(Task::getID).toList(),
+                "Некорректное вытеснение задач из истории просмотра");
+
+        // Повторный просмотр задачи из истории переносит её в конец без вытеснения,
+        // а просмотр вытесненной задачи вытесняет самый давний просмотр
+        manager.getBasicTaskById(3);
+        manager.getBasicTaskById(1);
+        assertEquals(List.of(5, 3, 1), manager.getHistory().stream().map(Task::getID).toList(),
+                "Некорректное вытеснение задач из истории просмотра");
+        assertEquals(3, manager.getHistoryView().size(), "Некорректный размер истории просмотра");
+    }
+
+    // Проверяет, что размер истории должен быть положительным
+    @Test
+    void shouldNotCreateHistoryWithNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> Managers.getDefaultHistory(0),
+                "История нулевого размера не должна создаваться");
+    }
+
+    // Проверяет, что версия истории увеличивается после добавления просмотра в историю
+    // (история, прочитанная по новой версии, должна содержать этот просмотр)
+    @Test
+    void shouldIncreaseHistoryVersionAfterViewIsRecorded() {
+        // История запоминает версию истории трекера на момент записи просмотра
+        List<Long> versionsDuringView = new ArrayList<>();
+        InMemoryTaskManager[] manager = new InMemoryTaskManager[1];
+        manager[0] = new InMemoryTaskManager(new InMemoryHistoryManager() {
+            @Override
+            public void addTask(Task task) {
+                versionsDuringView.add(manager[0].getVersion(TaskCollection.HISTORY));
+                super.addTask(task);
+            }
+        });
+        manager[0].addBasicTask(new Task(1, "Task", "description", TaskStatus.NEW, null, null));
+
+        long versionBeforeView = manager[0].getVersion(TaskCollection.HISTORY);
+        manager[0].getBasicTaskById(1);
+
+        assertEquals(List.of(versionBeforeView), versionsDuringView,
+                "Версия истории увеличена до записи просмотра");
+        assertTrue(manager[0].getVersion(TaskCollection.HISTORY) > versionBeforeView,
+                "Версия истории не увеличена после просмотра");
+    }
+}
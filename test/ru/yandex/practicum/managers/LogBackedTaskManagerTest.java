@@ -0,0 +1,172 @@
+package ru.yandex.practicum.managers;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import ru.yandex.practicum.exceptions.TaskOverlapException;
+import ru.yandex.practicum.tasks.*;
+
+// Класс, содержащий тесты, относящиеся к специфическим методам LogBackedTaskManager
+// Если при работе с Optional опущен isPresent(), значит значение гарантированно присутствует
+class LogBackedTaskManagerTest extends TaskManagerTest<LogBackedTaskManager> {
+    // Файл журнала
+    private File journalFile;
+
+    // Инициализация трекера задач
+    @BeforeEach
+    protected void beforeEach() {
+        try {
+            journalFile = File.createTempFile("testJournal", ".log");
+            journalFile.deleteOnExit();
+            taskManager = new LogBackedTaskManager(journalFile);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    // Закрытие журнала
+    @AfterEach
+    void afterEach() {
+        taskManager.close();
+    }
+
+    // Наполнить трекер задачами, затрагивающими все виды операций
+    private void fillTaskManager() {
+        Task task1 = new Task(taskManager.nextId(), "task1", "description, with comma", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60));
+        Task task2 = new Task(taskManager.nextId(), "task2", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 2, 10, 0), Duration.ofMinutes(60));
+        taskManager.addBasicTask(task1);
+        taskManager.addBasicTask(task2);
+
+        Epic epic = new Epic(taskManager.nextId(), "epic", "\"quoted\" description");
+        taskManager.addEpic(epic);
+
+        Subtask subtask1 = new Subtask(taskManager.nextId(), "subtask1", "description", TaskStatus.NEW,
+                epic.getID(), LocalDateTime.of(2025, 1, 3, 10, 0), Duration.ofMinutes(30));
+        Subtask subtask2 = new Subtask(taskManager.nextId(), "subtask2", "description", TaskStatus.NEW,
+                epic.getID(), LocalDateTime.of(2025, 1, 4, 10, 0), Duration.ofMinutes(30));
+        taskManager.addSubtask(subtask1);
+        taskManager.addSubtask(subtask2);
+
+        // Операция, завершившаяся исключением, не должна попасть в журнал
+        Task overlappingTask = new Task(taskManager.nextId(), "overlap", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 10, 30), Duration.ofMinutes(60));
+        assertThrows(TaskOverlapException.class, () -> taskManager.addBasicTask(overlappingTask));
+
+        taskManager.updateBasicTask(new Task(task1.getID(), "task1_upd", "description", TaskStatus.DONE,
+                LocalDateTime.of(2025, 1, 5, 10, 0), Duration.ofMinutes(90)));
+        taskManager.updateSubtask(new Subtask(subtask1.getID(), "subtask1", "description", TaskStatus.DONE,
+                epic.getID(), LocalDateTime.of(2025, 1, 3, 10, 0), Duration.ofMinutes(30)));
+        taskManager.removeBasicTaskById(task2.getID());
+        taskManager.removeSubtaskById(subtask2.getID());
+    }
+
+    // Проверяет равенство состояний двух трекеров
+    private void assertSameState(TaskManager expected, TaskManager actual) {
+        assertEquals(expected.getAllBasicTasks().toString(), actual.getAllBasicTasks().toString(),
+                "Некорректно восстановлены задачи");
+        assertEquals(expected.getAllSubtasks().toString(), actual.getAllSubtasks().toString(),
+                "Некорректно восстановлены подзадачи");
+        assertEquals(expected.getAllEpics().toString(), actual.getAllEpics().toString(),
+                "Некорректно восстановлены эпики");
+        for (Epic epic : expected.getAllEpics()) {
+            Epic restoredEpic = actual.getEpicById(epic.getID());
+            assertEquals(epic.getSubtaskIDs(), restoredEpic.getSubtaskIDs(), "Некорректные подзадачи эпика");
+            assertEquals(epic.getEndTime(), restoredEpic.getEndTime(), "Некорректная дата окончания эпика");
+        }
+        assertEquals(expected.getPrioritizedTasks(), actual.getPrioritizedTasks(),
+                "Некорректно восстановлен приоритезированный список задач");
+    }
+
+    // Проверяет, что каждая операция дописывается в журнал одной записью
+    @Test
+    void shouldAppendSingleRecordPerOperation() throws IOException {
+        fillTaskManager();
+
+        // 5 добавлений, 2 обновления и 2 удаления (неуспешная операция и пересчёт эпиков не записываются)
+        assertEquals(9, Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8).size(),
+                "Некорректное количество записей в журнале");
+    }
+
+    // Проверяет восстановление состояния трекера повторением журнала
+    @Test
+    void shouldRestoreStateFromJournal() {
+        fillTaskManager();
+        taskManager.close();
+
+        try (LogBackedTaskManager restoredTaskManager = LogBackedTaskManager.loadFromFile(journalFile)) {
+            assertSameState(taskManager, restoredTaskManager);
+
+            // Новые задачи не должны получать уже занятые id
+            assertTrue(restoredTaskManager.nextId() > taskManager.getAllEpics().getFirst().getID(),
+                    "Некорректно восстановлен последний присвоенный id");
+        }
+    }
+
+    // Проверяет, что при достижении порога журнал заменяется снимком, из которого восстанавливается состояние
+    @Test
+    void shouldCompactJournal() throws IOException {
+        taskManager.close();
+        taskManager = new LogBackedTaskManager(journalFile, 3);
+        fillTaskManager();
+
+        // После уплотнения в журнале остаются снимок и не более двух записей
+        List<String> records = Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8);
+        int tasksCount = taskManager.getAllBasicTasks().size() + taskManager.getAllSubtasks().size()
+                + taskManager.getAllEpics().size();
+        assertTrue(records.size() < tasksCount + 3, "Журнал не был уплотнён");
+        taskManager.close();
+
+        try (LogBackedTaskManager restoredTaskManager = LogBackedTaskManager.loadFromFile(journalFile)) {
+            assertSameState(taskManager, restoredTaskManager);
+        }
+    }
+
+    // Проверяет, что недописанная последняя запись журнала пропускается
+    @Test
+    void shouldSkipTornLastRecord() throws IOException {
+        fillTaskManager();
+        taskManager.close();
+
+        try (Writer writer = new FileWriter(journalFile, StandardCharsets.UTF_8, true)) {
+            writer.write("A,100,Task,name,NE");
+        }
+
+        try (LogBackedTaskManager restoredTaskManager = LogBackedTaskManager.loadFromFile(journalFile)) {
+            assertSameState(taskManager, restoredTaskManager);
+        }
+    }
+
+    // Проверяет, что пакет операций записывается в журнал и восстанавливается из него
+    @Test
+    void shouldJournalBatch() throws IOException {
+        fillTaskManager();
+        int recordsCount = Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8).size();
+
+        Epic epic = taskManager.getAllEpics().getFirst();
+        Subtask subtask = new Subtask(taskManager.nextId(), "subtask3", "description", TaskStatus.IN_PROGRESS,
+                epic.getID(), LocalDateTime.of(2025, 1, 6, 10, 0), Duration.ofMinutes(30));
+        taskManager.applyBatch(List.of(
+                BatchOperation.create(subtask),
+                BatchOperation.delete(TaskType.TASK, taskManager.getAllBasicTasks().getFirst().getID())));
+
+        // По записи на каждую операцию пакета
+        assertEquals(recordsCount + 2, Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8).size(),
+                "Некорректное количество записей в журнале");
+        taskManager.close();
+
+        try (LogBackedTaskManager restoredTaskManager = LogBackedTaskManager.loadFromFile(journalFile)) {
+            assertSameState(taskManager, restoredTaskManager);
+        }
+    }
+}
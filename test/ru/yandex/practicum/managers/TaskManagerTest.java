@@ -8,12 +8,14 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.exceptions.TaskAlreadyExistsException;
 import ru.yandex.practicum.exceptions.TaskNotFoundException;
 import ru.yandex.practicum.exceptions.TaskOverlapException;
 import ru.yandex.practicum.tasks.Epic;
 import ru.yandex.practicum.tasks.Subtask;
 import ru.yandex.practicum.tasks.Task;
 import ru.yandex.practicum.tasks.TaskStatus;
+import ru.yandex.practicum.tasks.TaskType;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -1061,4 +1063,485 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertDoesNotThrow(() -> taskManager.addBasicTask(task9),
                 "Задача, не имеющая пересечений с уже существующей задачей, не была добавлена в трекер");
     }
+
+    // Проверяет, что после обновления задачи её прежний интервал освобождается, а новый - занимается
+    @Test
+    void shouldReleaseOldIntervalWhenUpdatedTask() {
+        // Создадим задачу и добавим её в трекер
+        Task task1 = new Task(1, "1", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofMinutes(60));
+        taskManager.addBasicTask(task1);
+
+        // Перенесём задачу на другое время
+        Task updatedTask1 = new Task(1, "1", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 2, 0, 0), Duration.ofMinutes(60));
+        taskManager.updateBasicTask(updatedTask1);
+
+        // Прежний интервал должен быть свободен
+        Task task2 = new Task(2, "2", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 0, 30), Duration.ofMinutes(60));
+        assertDoesNotThrow(() -> taskManager.addBasicTask(task2),
+                "Интервал обновлённой задачи не был освобождён");
+
+        // Новый интервал должен быть занят
+        Subtask subtask = new Subtask(3, "3", "description", TaskStatus.NEW, null,
+                LocalDateTime.of(2025, 1, 1, 23, 30), Duration.ofMinutes(60));
+        assertThrows(TaskOverlapException.class, () -> taskManager.addSubtask(subtask),
+                "Подзадача, имеющая пересечение с обновлённой задачей, была некорректно добавлена в трекер");
+
+        // В приоритезированном списке нет устаревших версий задач
+        assertEquals(List.of(task2, updatedTask1), taskManager.getPrioritizedTasks(),
+                "Некорректный приоритезированный список задач");
+    }
+
+    // Проверяет, что задачи с одинаковой датой начала и без пересечений попадают в приоритезированный список
+    @Test
+    void shouldKeepTasksWithSameStartTimeInPrioritizedTasks() {
+        LocalDateTime startTime = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Task task1 = new Task(1, "1", "description", TaskStatus.NEW, startTime, Duration.ZERO);
+        Task task2 = new Task(2, "2", "description", TaskStatus.NEW, startTime, Duration.ofMinutes(60));
+        taskManager.addBasicTask(task1);
+        taskManager.addBasicTask(task2);
+
+        assertEquals(2, taskManager.getPrioritizedTasks().size(),
+                "Задача с совпадающей датой начала не попала в приоритезированный список");
+
+        // Точка внутри интервала task2 должна считаться пересечением
+        Task task3 = new Task(3, "3", "description", TaskStatus.NEW, startTime.plusMinutes(30), Duration.ZERO);
+        assertThrows(TaskOverlapException.class, () -> taskManager.addBasicTask(task3),
+                "Задача, имеющая пересечение с уже существующей задачей, была некорректно добавлена в трекер");
+    }
+
+    // Проверяет пересчёт параметров обоих эпиков при переносе подзадачи в другой эпик
+    @Test
+    void shouldUpdateBothEpicsWhenSubtaskMovedToAnotherEpic() {
+        // Создаём два эпика
+        Epic epic1 = new Epic(1, "Эпик 1", "Описание");
+        Epic epic2 = new Epic(2, "Эпик 2", "Описание");
+        taskManager.addEpic(epic1);
+        taskManager.addEpic(epic2);
+
+        // Добавляем две подзадачи в первый эпик
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        Subtask sub11 = new Subtask(11, "Подзадача 11", "Описание", TaskStatus.DONE, epic1.getID(),
+                start, Duration.ofMinutes(30));
+        Subtask sub12 = new Subtask(12, "Подзадача 12", "Описание", TaskStatus.NEW, epic1.getID(),
+                start.plusHours(1), Duration.ofMinutes(15));
+        taskManager.addSubtask(sub11);
+        taskManager.addSubtask(sub12);
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicById(epic1.getID()).getStatus(),
+                "Неверный статус эпика");
+
+        // Переносим первую подзадачу во второй эпик
+        taskManager.updateSubtask(new Subtask(sub11.getID(), sub11.getName(), sub11.getDescription(),
+                sub11.getStatus(), epic2.getID(), start, Duration.ofMinutes(30)));
+
+        // Проверяем параметры первого эпика
+        Epic updatedEpic1 = taskManager.getEpicById(epic1.getID());
+        assertEquals(List.of(sub12.getID()), updatedEpic1.getSubtaskIDs(), "Неверный список подзадач эпика");
+        assertEquals(TaskStatus.NEW, updatedEpic1.getStatus(), "Неверный статус эпика");
+        assertEquals(start.plusHours(1), updatedEpic1.getStartTime().get(), "Неверная дата начала эпика");
+        assertEquals(Duration.ofMinutes(15), updatedEpic1.getDuration(), "Неверная продолжительность эпика");
+
+        // Проверяем параметры второго эпика
+        Epic updatedEpic2 = taskManager.getEpicById(epic2.getID());
+        assertEquals(List.of(sub11.getID()), updatedEpic2.getSubtaskIDs(), "Неверный список подзадач эпика");
+        assertEquals(TaskStatus.DONE, updatedEpic2.getStatus(), "Неверный статус эпика");
+        assertEquals(start.plusMinutes(30), updatedEpic2.getEndTime().get(), "Неверная дата окончания эпика");
+
+        // Удаляем оставшуюся подзадачу первого эпика
+        taskManager.removeSubtaskById(sub12.getID());
+        Epic emptyEpic1 = taskManager.getEpicById(epic1.getID());
+        assertTrue(emptyEpic1.getSubtaskIDs().isEmpty(), "Список подзадач эпика не пуст");
+        assertTrue(emptyEpic1.getStartTime().isEmpty(), "Дата начала пустого эпика задана");
+        assertEquals(Duration.ZERO, emptyEpic1.getDuration(), "Неверная продолжительность эпика");
+    }
+
+    // Проверяет получение части списка задач в порядке приоритета по интервалу дат и курсору
+    @Test
+    void shouldReturnPrioritizedTasksInRangeByPages() {
+        // Добавляем задачи и подзадачу с интервалом в один день (задача без даты начала в список не попадает)
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        Epic epic = new Epic(100, "Эпик", "Описание");
+        taskManager.addEpic(epic);
+        for (int i = 1; i <= 5; i++) {
+            taskManager.addBasicTask(new Task(i, "Задача " + i, "Описание", TaskStatus.NEW,
+                    start.plusDays(i), Duration.ofMinutes(30)));
+        }
+        taskManager.addSubtask(new Subtask(101, "Подзадача", "Описание", TaskStatus.NEW, epic.getID(),
+                start.plusDays(6), Duration.ofMinutes(30)));
+        taskManager.addBasicTask(new Task(7, "Задача 7", "Описание", TaskStatus.NEW, null, null));
+
+        // Интервал [from, to)
+        List<Task> range = taskManager.getPrioritizedTasks(start.plusDays(2), start.plusDays(6), null,
+                Integer.MAX_VALUE);
+        assertEquals(List.of(2, 3, 4, 5), range.stream().map(Task::getID).toList(), "Неверный интервал задач");
+
+        // Постраничное получение всех задач
+        List<Integer> pagedIDs = new ArrayList<>();
+        PriorityCursor cursor = null;
+        List<Task> page;
+        do {
+            page = taskManager.getPrioritizedTasks(null, null, cursor, 4);
+            page.forEach(task -> pagedIDs.add(task.getID()));
+            cursor = page.isEmpty() ? null : PriorityCursor.of(page.getLast());
+        } while (page.size() == 4);
+        assertEquals(taskManager.getPrioritizedTasks().stream().map(Task::getID).toList(), pagedIDs,
+                "Постраничный список не совпадает с полным");
+
+        // Курсор раньше from не расширяет интервал, интервал после to пуст
+        assertEquals(2, taskManager.getPrioritizedTasks(start.plusDays(2), null,
+                new PriorityCursor(start, 1), 1).getFirst().getID(), "Курсор расширил интервал");
+        assertTrue(taskManager.getPrioritizedTasks(start.plusDays(3), start.plusDays(2), null, 10).isEmpty(),
+                "Интервал с from позже to не пуст");
+        assertTrue(taskManager.getPrioritizedTasks(null, start.plusDays(2), new PriorityCursor(start.plusDays(5), 5),
+                10).isEmpty(), "Список после курсора за границей to не пуст");
+    }
+
+    // Проверяет, что представления коллекций трекера содержат те же задачи, что и списки, и не изменяемы
+    @Test
+    void shouldReturnReadOnlyViews() {
+        // Заполняем трекер и просматриваем задачи
+        Epic epic = new Epic(1, "Эпик", "Описание");
+        taskManager.addEpic(epic);
+        Task task = new Task(2, "Задача", "Описание", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(30));
+        taskManager.addBasicTask(task);
+        Subtask subtask = new Subtask(3, "Подзадача", "Описание", TaskStatus.DONE, epic.getID(),
+                LocalDateTime.of(2025, 1, 1, 9, 0), Duration.ofMinutes(30));
+        taskManager.addSubtask(subtask);
+        taskManager.getBasicTaskById(task.getID());
+        taskManager.getEpicById(epic.getID());
+
+        // Проверяем содержимое представлений
+        assertIterableEquals(taskManager.getAllBasicTasks(), taskManager.getBasicTasksView(),
+                "Представление задач не совпадает со списком");
+        assertIterableEquals(taskManager.getAllSubtasks(), taskManager.getSubtasksView(),
+                "Представление подзадач не совпадает со списком");
+        assertIterableEquals(taskManager.getAllEpics(), taskManager.getEpicsView(),
+                "Представление эпиков не совпадает со списком");
+        assertIterableEquals(taskManager.getPrioritizedTasks(), taskManager.getPrioritizedTasksView(),
+                "Представление приоритезированных задач не совпадает со списком");
+        assertIterableEquals(taskManager.getHistory(), taskManager.getHistoryView(),
+                "Представление истории не совпадает со списком");
+
+        // Проверяем, что представления нельзя изменить
+        assertThrows(UnsupportedOperationException.class, () -> taskManager.getBasicTasksView().clear(),
+                "Представление задач изменяемо");
+        assertThrows(UnsupportedOperationException.class, () -> taskManager.getPrioritizedTasksView().add(task),
+                "Представление приоритезированных задач изменяемо");
+        assertThrows(UnsupportedOperationException.class, () -> taskManager.getHistoryView().remove(task),
+                "Представление истории изменяемо");
+        assertEquals(1, taskManager.getAllBasicTasks().size(), "Трекер изменился через представление");
+    }
+
+    // Проверяет, что номера версий увеличиваются только у изменённых коллекций
+    @Test
+    void shouldIncreaseVersionsOfChangedCollections() {
+        long version = taskManager.getVersion();
+        long tasksVersion = taskManager.getVersion(TaskCollection.BASIC_TASKS);
+        long epicsVersion = taskManager.getVersion(TaskCollection.EPICS);
+        long historyVersion = taskManager.getVersion(TaskCollection.HISTORY);
+
+        // Добавление задачи меняет задачи, но не эпики
+        Task task = new Task(1, "Задача", "Описание", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(30));
+        taskManager.addBasicTask(task);
+        assertTrue(taskManager.getVersion(TaskCollection.BASIC_TASKS) > tasksVersion, "Версия задач не изменилась");
+        assertTrue(taskManager.getVersion() > version, "Общая версия не изменилась");
+        assertEquals(epicsVersion, taskManager.getVersion(TaskCollection.EPICS), "Версия эпиков изменилась");
+
+        // Чтение списков ничего не меняет, а просмотр задачи меняет историю
+        version = taskManager.getVersion();
+        taskManager.getAllBasicTasks();
+        taskManager.getPrioritizedTasks();
+        assertEquals(version, taskManager.getVersion(), "Общая версия изменилась при чтении");
+        taskManager.getBasicTaskById(task.getID());
+        assertTrue(taskManager.getVersion(TaskCollection.HISTORY) > historyVersion, "Версия истории не изменилась");
+
+        // Добавление подзадачи меняет и эпики
+        Epic epic = new Epic(2, "Эпик", "Описание");
+        taskManager.addEpic(epic);
+        epicsVersion = taskManager.getVersion(TaskCollection.EPICS);
+        taskManager.addSubtask(new Subtask(3, "Подзадача", "Описание", TaskStatus.NEW, epic.getID(),
+                LocalDateTime.of(2025, 1, 2, 10, 0), Duration.ofMinutes(30)));
+        assertTrue(taskManager.getVersion(TaskCollection.EPICS) > epicsVersion, "Версия эпиков не изменилась");
+    }
+
+    // Проверяет применение пакета операций по порядку (интервал удалённой задачи доступен следующим операциям)
+    @Test
+    void shouldApplyBatchInOrder() {
+        Task oldTask = new Task(1, "task", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60));
+        taskManager.addBasicTask(oldTask);
+
+        Task newTask = new Task(2, "task", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 10, 30), Duration.ofMinutes(60));
+        Epic epic = new Epic(3, "epic", "description");
+        Subtask subtask = new Subtask(4, "subtask", "description", TaskStatus.DONE, epic.getID(),
+                LocalDateTime.of(2025, 1, 1, 12, 0), Duration.ofMinutes(30));
+        taskManager.applyBatch(List.of(
+                BatchOperation.delete(TaskType.TASK, oldTask.getID()),
+                BatchOperation.create(newTask),
+                BatchOperation.create(epic),
+                BatchOperation.create(subtask)));
+
+        assertEquals(List.of(newTask), taskManager.getAllBasicTasks(), "Некорректный список задач");
+        assertEquals(List.of(newTask, subtask), taskManager.getPrioritizedTasks(),
+                "Некорректный приоритезированный список задач");
+        Epic updatedEpic = taskManager.getEpicById(epic.getID());
+        assertEquals(List.of(subtask.getID()), updatedEpic.getSubtaskIDs(), "Подзадача не привязана к эпику");
+        assertEquals(TaskStatus.DONE, updatedEpic.getStatus(), "Некорректный статус эпика");
+    }
+
+    // Проверяет, что при невыполнимой операции пакета трекер не изменяется
+    @Test
+    void shouldNotChangeManagerWhenBatchFails() {
+        Epic epic = new Epic(1, "epic", "description");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask(2, "subtask", "description", TaskStatus.NEW, epic.getID(),
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60));
+        taskManager.addSubtask(subtask);
+        long version = taskManager.getVersion();
+
+        // Вторая задача пакета пересекается с первой
+        Task task1 = new Task(3, "task", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 2, 10, 0), Duration.ofMinutes(60));
+        Task task2 = new Task(4, "task", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 2, 10, 30), Duration.ofMinutes(60));
+        assertThrows(TaskOverlapException.class, () -> taskManager.applyBatch(List.of(
+                BatchOperation.create(task1), BatchOperation.create(task2))));
+
+        // Подзадача удалена вместе с эпиком раньше в том же пакете
+        Subtask updatedSubtask = new Subtask(subtask.getID(), "subtask", "description", TaskStatus.DONE,
+                epic.getID(), null, Duration.ZERO);
+        assertThrows(TaskNotFoundException.class, () -> taskManager.applyBatch(List.of(
+                BatchOperation.create(task1),
+                BatchOperation.delete(TaskType.EPIC, epic.getID()),
+                BatchOperation.update(updatedSubtask))));
+
+        // Подзадача с таким id уже есть в трекере
+        Subtask duplicateSubtask = new Subtask(subtask.getID(), "subtask", "description", TaskStatus.DONE,
+                epic.getID(), null, Duration.ZERO);
+        assertThrows(TaskAlreadyExistsException.class, () -> taskManager.applyBatch(List.of(
+                BatchOperation.create(task1), BatchOperation.create(duplicateSubtask))));
+
+        assertTrue(taskManager.getAllBasicTasks().isEmpty(), "Задачи пакета добавлены в трекер");
+        assertEquals(List.of(subtask), taskManager.getAllSubtasks(), "Подзадача изменена");
+        assertEquals(List.of(subtask), taskManager.getPrioritizedTasks(), "Приоритезированный список изменён");
+        assertEquals(version, taskManager.getVersion(), "Версия трекера изменилась");
+    }
+
+    // Проверяет уведомление слушателей об изменениях задач, включая пересчёт эпика
+    @Test
+    void shouldNotifyChangeListeners() {
+        List<TaskChange> changes = new ArrayList<>();
+        taskManager.addChangeListener(changes::add);
+
+        Epic epic = new Epic(1, "epic", "description");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask(2, "subtask", "description", TaskStatus.DONE, epic.getID(),
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60));
+        taskManager.addSubtask(subtask);
+        // Неудавшаяся операция не порождает изменений
+        assertThrows(TaskOverlapException.class, () -> taskManager.addBasicTask(new Task(3, "task",
+                "description", TaskStatus.NEW, LocalDateTime.of(2025, 1, 1, 10, 30), Duration.ofMinutes(60))));
+        taskManager.removeEpicById(epic.getID());
+
+        assertEquals(List.of(
+                        TaskChange.Action.CREATED + " " + TaskType.EPIC,
+                        TaskChange.Action.CREATED + " " + TaskType.SUBTASK,
+                        TaskChange.Action.UPDATED + " " + TaskType.EPIC,
+                        TaskChange.Action.DELETED + " " + TaskType.SUBTASK,
+                        TaskChange.Action.DELETED + " " + TaskType.EPIC),
+                changes.stream().map(change -> change.action() + " " + change.taskType()).toList(),
+                "Некорректный список изменений");
+        // Пересчитанный эпик передаётся в изменении
+        assertEquals(TaskStatus.DONE, changes.get(2).task().getStatus(), "Эпик не пересчитан");
+        assertNull(changes.get(4).task(), "Удалённая задача передана в изменении");
+        for (int i = 1; i < changes.size(); i++) {
+            assertTrue(changes.get(i).sequence() > changes.get(i - 1).sequence(), "Номера изменений не растут");
+        }
+    }
+
+    // Проверяет получение изменений из журнала, в том числе с ожиданием новых изменений
+    @Test
+    void shouldReturnChangesFromJournal() throws InterruptedException {
+        Task task = new Task(1, "task", "description", TaskStatus.NEW, null, Duration.ZERO);
+        taskManager.addBasicTask(task);
+        taskManager.removeBasicTaskById(task.getID());
+
+        TaskChanges changes = taskManager.getChanges(0, Duration.ZERO);
+        assertFalse(changes.reset(), "Изменения недоступны");
+        assertEquals(List.of(TaskChange.Action.CREATED, TaskChange.Action.DELETED),
+                changes.changes().stream().map(TaskChange::action).toList(), "Некорректный список изменений");
+
+        // Новых изменений нет - ожидаем изменение из другого потока
+        long lastSequence = changes.lastSequence();
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException exception) {
+                return;
+            }
+            taskManager.addEpic(new Epic(2, "epic", "description"));
+        });
+        writer.start();
+        changes = taskManager.getChanges(lastSequence, Duration.ofSeconds(10));
+        writer.join();
+        assertEquals(1, changes.changes().size(), "Изменение не получено");
+        assertEquals(2, changes.changes().getFirst().id(), "Получено некорректное изменение");
+
+        // Без изменений ожидание завершается по таймауту, а номер из будущего требует перезагрузки
+        assertTrue(taskManager.getChanges(changes.lastSequence(), Duration.ofMillis(10)).changes().isEmpty(),
+                "Получены несуществующие изменения");
+        assertTrue(taskManager.getChanges(changes.lastSequence() + 100, Duration.ZERO).reset(),
+                "Не запрошена перезагрузка задач");
+    }
+
+    // Проверяет, что получение задач методами find*ById не изменяет историю просмотра
+    @Test
+    void shouldNotAddTaskToHistoryWhenFoundById() {
+        Epic epic = new Epic(1, "Epic", "description");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask(2, "Subtask", "description", TaskStatus.NEW, epic.getID(), null, null);
+        taskManager.addSubtask(subtask);
+        Task task = new Task(3, "Task", "description", TaskStatus.NEW, null, null);
+        taskManager.addBasicTask(task);
+
+        // Получаем задачи без добавления в историю
+        assertEquals(task, taskManager.findBasicTaskById(3), "Получена некорректная задача");
+        assertEquals(subtask, taskManager.findSubtaskById(2), "Получена некорректная подзадача");
+        assertEquals(epic, taskManager.findEpicById(1), "Получен некорректный эпик");
+        assertTrue(taskManager.getHistory().isEmpty(), "Задачи не должны добавляться в историю просмотра");
+
+        // Отсутствующие задачи (в т.ч. задачи другого типа)
+        assertThrows(TaskNotFoundException.class, () -> taskManager.findBasicTaskById(1),
+                "Эпик не должен находиться среди задач");
+        assertThrows(TaskNotFoundException.class, () -> taskManager.findSubtaskById(3),
+                "Задача не должна находиться среди подзадач");
+        assertThrows(TaskNotFoundException.class, () -> taskManager.findEpicById(2),
+                "Подзадача не должна находиться среди эпиков");
+    }
+
+    // Проверяет, что история хранит сами (неизменяемые) задачи, а не их копии
+    @Test
+    void shouldStoreTasksInHistoryWithoutCopying() {
+        Epic epic = new Epic(1, "Epic", "description");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask(2, "Subtask", "description", TaskStatus.NEW, epic.getID(), null, null);
+        taskManager.addSubtask(subtask);
+
+        // Получим задачи по id
+        Subtask viewedSubtask = taskManager.getSubtaskById(2);
+        Epic viewedEpic = taskManager.getEpicById(1);
+
+        // В истории находятся те же объекты, что возвращены трекером
+        List<Task> history = taskManager.getHistory();
+        assertSame(viewedSubtask, history.get(0), "В истории хранится копия подзадачи");
+        assertSame(viewedEpic, history.get(1), "В истории хранится копия эпика");
+    }
+
+    // Проверяет пересчёт параметров эпика при изменении подзадачи после обновления эпика
+    // (расчётные параметры эпика создаются заново по подзадачам, ещё не отражающим изменение)
+    @Test
+    void shouldUpdateEpicWhenUpdatedSubtaskAfterEpicUpdated() {
+        Epic epic = new Epic(1, "Epic", "description");
+        taskManager.addEpic(epic);
+        Subtask sub1 = new Subtask(2, "Subtask1", "description", TaskStatus.DONE, epic.getID(),
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(15));
+        taskManager.addSubtask(sub1);
+        Subtask sub2 = new Subtask(3, "Subtask2", "description", TaskStatus.NEW, epic.getID(),
+                LocalDateTime.of(2025, 1, 1, 11, 0), Duration.ofMinutes(15));
+        taskManager.addSubtask(sub2);
+
+        // Обновляем эпик (список подзадач сохраняется)
+        epic = taskManager.findEpicById(epic.getID());
+        taskManager.updateEpic(new Epic(epic.getID(), "Updated epic", epic.getDescription(), epic.getStatus(),
+                epic.getSubtaskIDs(), epic.getStartTime().orElse(null), epic.getDuration(),
+                epic.getEndTime().orElse(null)));
+
+        // Завершаем вторую подзадачу
+        taskManager.updateSubtask(new Subtask(sub2.getID(), sub2.getName(), sub2.getDescription(),
+                TaskStatus.DONE, epic.getID(), sub2.getStartTime().get(), sub2.getDuration()));
+
+        epic = taskManager.findEpicById(epic.getID());
+        assertEquals(TaskStatus.DONE, epic.getStatus(), "Некорректный статус эпика");
+        assertEquals(Duration.ofMinutes(30), epic.getDuration(), "Некорректная продолжительность эпика");
+        assertEquals(List.of(2, 3), epic.getSubtaskIDs(), "Некорректный список подзадач эпика");
+
+        // Удаляем первую подзадачу после повторного обновления эпика
+        taskManager.updateEpic(epic);
+        taskManager.removeSubtaskById(sub1.getID());
+
+        epic = taskManager.findEpicById(epic.getID());
+        assertEquals(TaskStatus.DONE, epic.getStatus(), "Некорректный статус эпика");
+        assertEquals(Duration.ofMinutes(15), epic.getDuration(), "Некорректная продолжительность эпика");
+        assertEquals(List.of(3), epic.getSubtaskIDs(), "Некорректный список подзадач эпика");
+    }
+
+    // Проверяет пересечение по времени задач разных типов с одинаковым id
+    @Test
+    void shouldNotAddSubtaskThatHasOverlapWithTaskWithSameId() {
+        Epic epic = new Epic(1, "Epic", "description");
+        taskManager.addEpic(epic);
+        Task task = new Task(2, "Task", "description", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60));
+        taskManager.addBasicTask(task);
+
+        // Подзадача с тем же id пересекается с задачей
+        Subtask overlapping = new Subtask(2, "Subtask", "description", TaskStatus.NEW, epic.getID(),
+                LocalDateTime.of(2025, 1, 1, 10, 30), Duration.ofMinutes(60));
+        assertThrows(TaskOverlapException.class, () -> taskManager.addSubtask(overlapping),
+                "Добавлена подзадача, пересекающаяся с задачей с тем же id");
+
+        // Подзадача с тем же id без пересечения добавляется, и обе задачи есть в списке по приоритету
+        Subtask subtask = new Subtask(2, "Subtask", "description", TaskStatus.NEW, epic.getID(),
+                LocalDateTime.of(2025, 1, 1, 12, 0), Duration.ofMinutes(60));
+        taskManager.addSubtask(subtask);
+        assertEquals(List.of(task, subtask), taskManager.getPrioritizedTasks(),
+                "Некорректный список задач в порядке приоритета");
+
+        // Обновление подзадачи не должно пропускать пересечение с задачей с тем же id
+        Subtask updated = new Subtask(2, "Subtask", "description", TaskStatus.NEW, epic.getID(),
+                LocalDateTime.of(2025, 1, 1, 9, 30), Duration.ofMinutes(60));
+        assertThrows(TaskOverlapException.class, () -> taskManager.updateSubtask(updated),
+                "Обновлена подзадача, пересекающаяся с задачей с тем же id");
+
+        // Задачу и подзадачу с одинаковыми id и датой начала различает и множество задач по приоритету
+        taskManager.updateBasicTask(new Task(2, "Task", "description", TaskStatus.NEW,
+                subtask.getStartTime().get(), Duration.ZERO));
+        assertEquals(2, taskManager.getPrioritizedTasks().size(),
+                "Задачи с одинаковыми id и датой начала не различаются");
+    }
+
+    // Проверяет, что изменение подзадачи не меняет её место в списке подзадач эпика,
+    // а ранее полученные версии эпика не меняются при последующих изменениях его подзадач
+    @Test
+    void shouldKeepSubtaskOrderAndPreviousEpicVersionsWhenSubtasksChanged() {
+        Epic epic = new Epic(1, "Epic", "description");
+        taskManager.addEpic(epic);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        Subtask sub1 = new Subtask(2, "Subtask1", "description", TaskStatus.NEW, epic.getID(),
+                start, Duration.ofMinutes(15));
+        Subtask sub2 = new Subtask(3, "Subtask2", "description", TaskStatus.NEW, epic.getID(),
+                start.plusHours(1), Duration.ofMinutes(15));
+        taskManager.addSubtask(sub1);
+        taskManager.addSubtask(sub2);
+
+        // Завершаем первую подзадачу
+        taskManager.updateSubtask(new Subtask(sub1.getID(), sub1.getName(), sub1.getDescription(),
+                TaskStatus.DONE, epic.getID(), start, sub1.getDuration()));
+        Epic updatedEpic = taskManager.findEpicById(epic.getID());
+        assertEquals(TaskStatus.IN_PROGRESS, updatedEpic.getStatus(), "Некорректный статус эпика");
+        assertEquals(List.of(2, 3), updatedEpic.getSubtaskIDs(), "Изменилось место подзадачи в эпике");
+
+        // Добавляем и удаляем подзадачи
+        taskManager.addSubtask(new Subtask(4, "Subtask3", "description", TaskStatus.NEW, epic.getID(),
+                start.plusHours(2), Duration.ofMinutes(15)));
+        taskManager.removeSubtaskById(sub1.getID());
+        assertEquals(List.of(3, 4), taskManager.findEpicById(epic.getID()).getSubtaskIDs(),
+                "Некорректный список подзадач эпика");
+        assertEquals(List.of(2, 3), updatedEpic.getSubtaskIDs(), "Изменилась ранее полученная версия эпика");
+    }
 }
@@ -27,8 +27,9 @@ import ru.yandex.practicum.tasks.*;
 public class BaseHttpTaskServerTest {
     // Трекер задач
     protected TaskManager taskManager = new InMemoryTaskManager();
-    // Сервер
-    protected HttpTaskServer taskServer = new HttpTaskServer(taskManager);
+    // Сервер (с TCP_NODELAY, иначе запросы в keep-alive соединениях задерживаются)
+    protected HttpTaskServer taskServer = new HttpTaskServer(taskManager,
+            ServerSettings.defaults().withTcpNoDelay(true));
     // Форматтер для даты
     protected DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
     // Экземпляр класса Gson
@@ -43,6 +44,9 @@ public class BaseHttpTaskServerTest {
     protected static final String PATH_EPICS = "http://localhost:8080/epics";
     protected static final String PATH_HISTORY = "http://localhost:8080/history";
     protected static final String PATH_PRIORITIZED = "http://localhost:8080/prioritized";
+    protected static final String PATH_BATCH = "http://localhost:8080/batch";
+    protected static final String PATH_EVENTS = "http://localhost:8080/events";
+    protected static final String PATH_CHANGES = "http://localhost:8080/changes";
 
     // Конструктор класса BaseHttpTaskServerTest
     public BaseHttpTaskServerTest() {
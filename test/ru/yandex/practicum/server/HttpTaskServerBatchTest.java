@@ -0,0 +1,173 @@
+package ru.yandex.practicum.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import ru.yandex.practicum.tasks.Epic;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+// Класс для тестирования пути /batch
+public class HttpTaskServerBatchTest extends BaseHttpTaskServerTest {
+    // Проверяет применение пакета операций (POST /batch)
+    @Test
+    void shouldApplyBatch() throws IOException, InterruptedException {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+
+        // Создаём эпик с подзадачей и новую задачу, удаляем задачу 1 и обновляем задачу 2
+        String batch = """
+                [
+                  {"action": "create", "task": {"id": 100, "name": "Эпик", "description": "Описание", "type": "EPIC"}},
+                  {"action": "create", "task": {"name": "Подзадача", "description": "Описание", "status": "NEW",
+                    "epicID": 100, "type": "SUBTASK"}},
+                  {"action": "create", "task": {"name": "Задача", "description": "Описание", "status": "NEW"}},
+                  {"action": "delete", "type": "TASK", "id": 1},
+                  {"action": "update", "task": {"id": 2, "name": "Task 2", "description": "description",
+                    "status": "DONE", "type": "TASK"}}
+                ]
+                """;
+        HttpResponse<String> response = sendRequest(PATH_BATCH, METHOD_POST, batch);
+
+        // Проверяем код ответа и id задач
+        assertEquals(201, response.statusCode(), "Получен некорректный код ответа");
+        List<Integer> ids = gson.fromJson(response.body(), new TypeToken<List<Integer>>() {
+        }.getType());
+        assertEquals(5, ids.size(), "Некорректное количество id в ответе");
+        assertEquals(List.of(100, 1, 2), List.of(ids.get(0), ids.get(3), ids.get(4)), "Некорректные id");
+
+        // Проверяем состояние трекера
+        Epic epic = taskManager.getEpicById(100);
+        assertEquals(List.of(ids.get(1)), epic.getSubtaskIDs(), "Подзадача не привязана к эпику");
+        assertEquals("Задача", taskManager.getBasicTaskById(ids.get(2)).getName(), "Задача не создана");
+        assertEquals(TaskStatus.DONE, taskManager.getBasicTaskById(2).getStatus(), "Задача не обновлена");
+        assertTrue(taskManager.getAllBasicTasks().stream().noneMatch(task -> task.getID() == 1),
+                "Задача не удалена");
+    }
+
+    // Проверяет, что невыполнимый пакет не изменяет трекер (POST /batch)
+    @Test
+    void shouldRejectWholeBatchWhenOperationFails() throws IOException, InterruptedException {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+        List<Task> tasks = taskManager.getAllBasicTasks();
+
+        // Вторая операция пересекается по времени с задачей 1
+        String batch = """
+                [
+                  {"action": "create", "task": {"id": 200, "name": "Задача", "description": "Описание", "status": "NEW"}},
+                  {"action": "create", "task": {"id": 201, "name": "Задача", "description": "Описание", "status": "NEW",
+                    "startTime": "01.01.2025 10:30:00", "duration": 30}}
+                ]
+                """;
+        assertEquals(406, sendRequest(PATH_BATCH, METHOD_POST, batch).statusCode(),
+                "Получен некорректный код ответа");
+
+        // Обновление отсутствующей задачи
+        batch = """
+                [{"action": "update", "task": {"id": 300, "name": "Задача", "description": "Описание", "status": "NEW"}}]
+                """;
+        assertEquals(404, sendRequest(PATH_BATCH, METHOD_POST, batch).statusCode(),
+                "Получен некорректный код ответа");
+
+        // Некорректные операции
+        assertEquals(400, sendRequest(PATH_BATCH, METHOD_POST, "{}").statusCode(),
+                "Получен некорректный код ответа");
+        assertEquals(400, sendRequest(PATH_BATCH, METHOD_POST, "[{\"action\": \"move\"}]").statusCode(),
+                "Получен некорректный код ответа");
+
+        assertEquals(tasks, taskManager.getAllBasicTasks(), "Трекер изменён");
+    }
+
+    // Проверяет, что пакет с некорректными операциями отклоняется без расходования id (POST /batch)
+    @Test
+    void shouldNotAssignIdsWhenBatchIsMalformed() throws IOException, InterruptedException {
+        String createTask = """
+                [{"action": "create", "task": {"name": "Задача", "description": "Описание", "status": "NEW"}}]
+                """;
+        HttpResponse<String> response = sendRequest(PATH_BATCH, METHOD_POST, createTask);
+        assertEquals(201, response.statusCode(), "Получен некорректный код ответа");
+        List<Integer> ids = gson.fromJson(response.body(), new TypeToken<List<Integer>>() {
+        }.getType());
+        int firstId = ids.getFirst();
+
+        // Создаваемые задачи без id предшествуют некорректным операциям
+        List<String> malformedOperations = List.of(
+                "{\"action\": \"delete\", \"type\": \"TASK\"}",
+                "{\"action\": \"delete\", \"type\": \"TASK\", \"id\": \"один\"}",
+                "{\"action\": 1}",
+                "{\"action\": \"create\", \"task\": [1]}",
+                "{\"action\": \"create\", \"task\": {\"name\": \"Задача\", \"type\": {}}}",
+                "5");
+        for (String operation : malformedOperations) {
+            String batch = "[" + createTask.strip().substring(1, createTask.strip().length() - 1) + ", "
+                    + operation + "]";
+            assertEquals(400, sendRequest(PATH_BATCH, METHOD_POST, batch).statusCode(),
+                    "Получен некорректный код ответа для операции " + operation);
+        }
+
+        // Следующая созданная задача получает следующий id
+        response = sendRequest(PATH_BATCH, METHOD_POST, createTask);
+        assertEquals(201, response.statusCode(), "Получен некорректный код ответа");
+        assertEquals(List.of(firstId + 1), gson.fromJson(response.body(), new TypeToken<List<Integer>>() {
+        }.getType()), "Некорректным пакетом израсходованы id");
+    }
+
+    // Проверяет, что тип задачи, как и действие, не зависит от регистра (POST /batch)
+    @Test
+    void shouldAcceptTaskTypeInAnyCase() throws IOException, InterruptedException {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+
+        String batch = """
+                [
+                  {"action": "create", "task": {"id": 100, "name": "Эпик", "description": "Описание", "type": "epic"}},
+                  {"action": "create", "task": {"id": 101, "name": "Подзадача", "description": "Описание",
+                    "status": "NEW", "epicID": 100, "type": "Subtask"}},
+                  {"action": "delete", "type": "task", "id": 1}
+                ]
+                """;
+        assertEquals(201, sendRequest(PATH_BATCH, METHOD_POST, batch).statusCode(),
+                "Получен некорректный код ответа");
+
+        assertEquals(List.of(101), taskManager.getEpicById(100).getSubtaskIDs(), "Подзадача не привязана к эпику");
+        assertTrue(taskManager.getAllBasicTasks().stream().noneMatch(task -> task.getID() == 1),
+                "Задача не удалена");
+    }
+
+    // Проверяет, что пакет, создающий задачу с id существующей задачи, отклоняется (POST /batch)
+    @Test
+    void shouldRejectBatchCreatingTaskWithExistingId() throws IOException, InterruptedException {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+        List<Task> tasks = taskManager.getAllBasicTasks();
+
+        // Задача 1 уже есть в трекере
+        String batch = """
+                [
+                  {"action": "create", "task": {"id": 200, "name": "Задача", "description": "Описание", "status": "NEW"}},
+                  {"action": "create", "task": {"id": 1, "name": "Задача", "description": "Описание", "status": "NEW"}}
+                ]
+                """;
+        assertEquals(409, sendRequest(PATH_BATCH, METHOD_POST, batch).statusCode(),
+                "Получен некорректный код ответа");
+
+        // Задача создаётся дважды в одном пакете
+        batch = """
+                [
+                  {"action": "create", "task": {"id": 200, "name": "Задача", "description": "Описание", "status": "NEW"}},
+                  {"action": "create", "task": {"id": 200, "name": "Задача", "description": "Описание", "status": "NEW"}}
+                ]
+                """;
+        assertEquals(409, sendRequest(PATH_BATCH, METHOD_POST, batch).statusCode(),
+                "Получен некорректный код ответа");
+
+        assertEquals(tasks, taskManager.getAllBasicTasks(), "Трекер изменён");
+    }
+}
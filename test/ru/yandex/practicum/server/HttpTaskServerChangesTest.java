@@ -0,0 +1,86 @@
+package ru.yandex.practicum.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+// Класс для тестирования пути /changes
+public class HttpTaskServerChangesTest extends BaseHttpTaskServerTest {
+    // Проверяет получение сжатых изменений (GET /changes?since=...)
+    @Test
+    void shouldReturnDeltaSinceSequence() throws Exception {
+        // Номер изменения, с которого начинаем
+        JsonObject delta = getDelta(PATH_CHANGES + "?since=0&timeout=0");
+        long since = delta.get("lastSequence").getAsLong();
+
+        // Задача 1 создана и обновлена, задача 2 создана и удалена, задача 3 существовала и удалена
+        taskManager.addBasicTask(new Task(3, "Задача 3", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+        long sinceWithTask3 = getDelta(PATH_CHANGES + "?since=" + since + "&timeout=0")
+                .get("lastSequence").getAsLong();
+        taskManager.addBasicTask(new Task(1, "Задача 1", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+        taskManager.updateBasicTask(new Task(1, "Задача 1", "Описание", TaskStatus.DONE, null, Duration.ZERO));
+        taskManager.addBasicTask(new Task(2, "Задача 2", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+        taskManager.removeBasicTaskById(2);
+        taskManager.removeBasicTaskById(3);
+
+        delta = getDelta(PATH_CHANGES + "?since=" + sinceWithTask3 + "&timeout=0");
+        assertFalse(delta.get("reset").getAsBoolean(), "Запрошена перезагрузка задач");
+        assertEquals(1, delta.getAsJsonArray("created").size(), "Некорректные созданные задачи");
+        JsonObject createdTask = delta.getAsJsonArray("created").get(0).getAsJsonObject();
+        assertEquals(1, createdTask.get("id").getAsInt(), "Некорректная созданная задача");
+        assertEquals("DONE", createdTask.get("status").getAsString(), "Передано не итоговое состояние задачи");
+        assertTrue(delta.getAsJsonArray("updated").isEmpty(), "Некорректные обновлённые задачи");
+        assertEquals(1, delta.getAsJsonArray("deleted").size(), "Некорректные удалённые задачи");
+        assertEquals(3, delta.getAsJsonArray("deleted").get(0).getAsJsonObject().get("id").getAsInt(),
+                "Некорректная удалённая задача");
+    }
+
+    // Проверяет ожидание изменений (GET /changes?since=...&timeout=...)
+    @Test
+    void shouldWaitForChanges() throws Exception {
+        long since = getDelta(PATH_CHANGES + "?since=0&timeout=0").get("lastSequence").getAsLong();
+
+        // Запрос ожидает изменений, которые появляются позже
+        CompletableFuture<HttpResponse<String>> future = HttpClient.newHttpClient().sendAsync(
+                HttpRequest.newBuilder(URI.create(PATH_CHANGES + "?since=" + since + "&timeout=10")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Thread.sleep(200);
+        assertFalse(future.isDone(), "Запрос завершился без изменений");
+        taskManager.addBasicTask(new Task(1, "Задача 1", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+
+        HttpResponse<String> response = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> future.get());
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+        JsonObject delta = JsonParser.parseString(response.body()).getAsJsonObject();
+        assertEquals(1, delta.getAsJsonArray("created").size(), "Изменение не получено");
+    }
+
+    // Проверяет ответ на некорректные параметры запроса (GET /changes)
+    @Test
+    void shouldReturnBadRequestWhenQueryParametersAreInvalid() throws Exception {
+        assertEquals(400, sendRequest(PATH_CHANGES, METHOD_GET, "").statusCode(),
+                "Получен некорректный код ответа");
+        assertEquals(400, sendRequest(PATH_CHANGES + "?since=abc", METHOD_GET, "").statusCode(),
+                "Получен некорректный код ответа");
+        assertEquals(400, sendRequest(PATH_CHANGES + "?since=0&timeout=-1", METHOD_GET, "").statusCode(),
+                "Получен некорректный код ответа");
+    }
+
+    // Получить изменения
+    private JsonObject getDelta(String uri) throws Exception {
+        HttpResponse<String> response = sendRequest(uri, METHOD_GET, "");
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+        return JsonParser.parseString(response.body()).getAsJsonObject();
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Random;
 import ru.yandex.practicum.tasks.Epic;
 import ru.yandex.practicum.tasks.Subtask;
 import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
 
 // Класс для тестирования пути /epics
 public class HttpTaskServerEpicsTest extends BaseHttpTaskServerTest {
@@ -219,4 +220,30 @@ public class HttpTaskServerEpicsTest extends BaseHttpTaskServerTest {
         // Проверяем равенство коллекций
         assertIterableEquals(randomEpicSubtasks, subtasks, "Списки подзадач эпика не равны");
     }
+
+    // Проверяет, что закешированный ответ со списком эпиков обновляется после изменения эпиков (GET /epics)
+    @Test
+    void shouldRebuildCachedEpicsResponseAfterChange() throws IOException, InterruptedException {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+
+        // Повторные запросы без изменений возвращают одинаковые ответы
+        String firstBody = sendRequest(PATH_EPICS, METHOD_GET, "").body();
+        assertEquals(firstBody, sendRequest(PATH_EPICS, METHOD_GET, "").body(), "Ответы не совпадают");
+
+        // Изменение подзадачи меняет статус эпика, поэтому ответ строится заново
+        Subtask subtask = taskManager.getAllSubtasks().stream()
+                .filter(existingSubtask -> existingSubtask.getStatus() != TaskStatus.DONE)
+                .findFirst()
+                .orElseThrow();
+        taskManager.updateSubtask(new Subtask(subtask.getID(), subtask.getName(), subtask.getDescription(),
+                TaskStatus.DONE, subtask.getEpicID(), subtask.getStartTime().orElse(null),
+                subtask.getDuration()));
+
+        HttpResponse<String> response = sendRequest(PATH_EPICS, METHOD_GET, "");
+        assertNotEquals(firstBody, response.body(), "Отправлен устаревший ответ");
+        List<Epic> epics = gson.fromJson(response.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertIterableEquals(taskManager.getAllEpics(), epics, "Списки эпиков не равны");
+    }
 }
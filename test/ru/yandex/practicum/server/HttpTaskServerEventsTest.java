@@ -0,0 +1,164 @@
+package ru.yandex.practicum.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import ru.yandex.practicum.tasks.Epic;
+import ru.yandex.practicum.tasks.Subtask;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+// Класс для тестирования пути /events
+public class HttpTaskServerEventsTest extends BaseHttpTaskServerTest {
+    // Таймаут ожидания событий
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    // Проверяет получение изменений задач, включая пересчитанный эпик (GET /events)
+    @Test
+    void shouldStreamChanges() throws Exception {
+        try (Stream<String> lines = openStream(HttpRequest.newBuilder(URI.create(PATH_EVENTS)))) {
+            Iterator<String> iterator = lines.iterator();
+
+            Epic epic = new Epic(1, "Эпик", "Описание");
+            taskManager.addEpic(epic);
+            taskManager.addSubtask(new Subtask(2, "Подзадача", "Описание", TaskStatus.DONE, epic.getID(),
+                    LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(60)));
+
+            List<JsonObject> events = readEvents(iterator, 3);
+            assertEquals(List.of("CREATED", "CREATED", "UPDATED"),
+                    events.stream().map(event -> event.get("action").getAsString()).toList(),
+                    "Некорректные события");
+            JsonObject updatedEpic = events.get(2).getAsJsonObject("task");
+            assertEquals("DONE", updatedEpic.get("status").getAsString(), "Эпик не пересчитан");
+            assertEquals(2, updatedEpic.getAsJsonArray("subtaskIDs").get(0).getAsInt(),
+                    "В событии нет подзадач эпика");
+        }
+    }
+
+    // Проверяет продолжение получения изменений после переподключения (GET /events с Last-Event-ID)
+    @Test
+    void shouldResumeFromLastEventId() throws Exception {
+        long lastSequence;
+        try (Stream<String> lines = openStream(HttpRequest.newBuilder(URI.create(PATH_EVENTS)))) {
+            Iterator<String> iterator = lines.iterator();
+            taskManager.addBasicTask(new Task(1, "Задача 1", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+            lastSequence = readEvents(iterator, 1).getFirst().get("sequence").getAsLong();
+        }
+
+        // Изменения, пропущенные клиентом
+        taskManager.addBasicTask(new Task(2, "Задача 2", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+        taskManager.removeBasicTaskById(1);
+
+        try (Stream<String> lines = openStream(HttpRequest.newBuilder(URI.create(PATH_EVENTS))
+                .header("Last-Event-ID", String.valueOf(lastSequence)))) {
+            List<JsonObject> events = readEvents(lines.iterator(), 2);
+            assertEquals(List.of("CREATED 2", "DELETED 1"), events.stream()
+                            .map(event -> event.get("action").getAsString() + " " + event.get("id").getAsInt())
+                            .toList(),
+                    "Некорректные пропущенные события");
+        }
+
+        // Номер изменения, с которого продолжить невозможно
+        try (Stream<String> lines = openStream(HttpRequest.newBuilder(URI.create(PATH_EVENTS + "?since=100000")))) {
+            assertEquals("event: reset", lines.iterator().next(), "Не передано событие reset");
+        }
+    }
+
+    // Проверяет, что пропущенные изменения берутся из журнала трекера, в том числе изменения,
+    // сделанные до запуска сервера (GET /events с Last-Event-ID после перезапуска сервера)
+    @Test
+    void shouldReplayChangesFromJournalAfterServerRestart() throws Exception {
+        taskManager.addBasicTask(new Task(1, "Задача 1", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+        long lastSequence = taskManager.getChanges(-1, Duration.ZERO).lastSequence();
+
+        // Изменения, сделанные, пока сервер остановлен
+        taskServer.stop();
+        taskManager.addBasicTask(new Task(2, "Задача 2", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+        taskManager.removeBasicTaskById(1);
+        taskServer = new HttpTaskServer(taskManager, ServerSettings.defaults().withTcpNoDelay(true));
+        taskServer.start();
+
+        try (Stream<String> lines = openStream(HttpRequest.newBuilder(URI.create(PATH_EVENTS))
+                .header("Last-Event-ID", String.valueOf(lastSequence)))) {
+            Iterator<String> iterator = lines.iterator();
+            List<JsonObject> events = readEvents(iterator, 2);
+            assertEquals(List.of("CREATED 2", "DELETED 1"), events.stream()
+                            .map(event -> event.get("action").getAsString() + " " + event.get("id").getAsInt())
+                            .toList(),
+                    "Некорректные пропущенные события");
+
+            // После пропущенных изменений передаются новые (без повторов)
+            taskManager.removeBasicTaskById(2);
+            JsonObject event = readEvents(iterator, 1).getFirst();
+            assertEquals("DELETED 2", event.get("action").getAsString() + " " + event.get("id").getAsInt(),
+                    "Некорректное новое событие");
+        }
+    }
+
+    // Проверяет передачу события reset, если журнал трекера уже не хранит пропущенные изменения
+    @Test
+    void shouldResetWhenMissedChangesAreNoLongerInJournal() throws Exception {
+        taskManager.addBasicTask(new Task(1, "Задача 1", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+        long lastSequence = taskManager.getChanges(-1, Duration.ZERO).lastSequence();
+
+        // Изменений больше, чем хранит журнал
+        for (int i = 0; i < 1000; i++) {
+            taskManager.updateBasicTask(new Task(1, "Задача 1", "Описание " + i, TaskStatus.NEW, null,
+                    Duration.ZERO));
+            taskManager.addBasicTask(new Task(2, "Задача 2", "Описание", TaskStatus.NEW, null, Duration.ZERO));
+            taskManager.removeBasicTaskById(2);
+        }
+        assertTrue(taskManager.getChanges(lastSequence, Duration.ZERO).reset(), "Изменения остались в журнале");
+
+        try (Stream<String> lines = openStream(HttpRequest.newBuilder(URI.create(PATH_EVENTS))
+                .header("Last-Event-ID", String.valueOf(lastSequence)))) {
+            Iterator<String> iterator = lines.iterator();
+            assertEquals("event: reset", iterator.next(), "Не передано событие reset");
+            assertEquals("data: {}", iterator.next(), "Некорректное событие reset");
+
+            // После reset передаются новые изменения
+            taskManager.removeBasicTaskById(1);
+            JsonObject event = readEvents(iterator, 1).getFirst();
+            assertEquals("DELETED 1", event.get("action").getAsString() + " " + event.get("id").getAsInt(),
+                    "Некорректное новое событие");
+        }
+    }
+
+    // Открыть поток событий
+    private Stream<String> openStream(HttpRequest.Builder requestBuilder) throws Exception {
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                .sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofLines())
+                .get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+        return response.body();
+    }
+
+    // Прочитать указанное количество событий (поля data)
+    private List<JsonObject> readEvents(Iterator<String> iterator, int count) {
+        return assertTimeoutPreemptively(TIMEOUT, () -> {
+            List<JsonObject> events = new ArrayList<>();
+            while (events.size() < count) {
+                String line = iterator.next();
+                if (line.startsWith("data: ")) {
+                    events.add(JsonParser.parseString(line.substring("data: ".length())).getAsJsonObject());
+                }
+            }
+            return events;
+        });
+    }
+}
@@ -9,9 +9,14 @@ import com.google.gson.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 import ru.yandex.practicum.exceptions.TaskNotFoundException;
 import ru.yandex.practicum.tasks.*;
@@ -269,4 +274,139 @@ public class HttpTaskServerHistoryTest extends BaseHttpTaskServerTest {
             assertFalse(tasks.contains(subtask), "Поздадача не была удалена из истории");
         }
     }
+
+    // Проверяет, что истории просмотра клиентов ведутся отдельно и не изменяют общую историю (GET /history)
+    @Test
+    void shouldKeepSeparateHistoriesForClients() throws IOException, InterruptedException {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+        HttpClient client = HttpClient.newHttpClient();
+
+        // Клиенты просматривают разные задачи
+        assertEquals(200, sendAsClient(client, PATH_TASKS + "/1", "alice").statusCode(),
+                "Получен некорректный код ответа");
+        assertEquals(200, sendAsClient(client, PATH_EPICS + "/10", "alice").statusCode(),
+                "Получен некорректный код ответа");
+        assertEquals(200, sendAsClient(client, PATH_SUBTASKS + "/11", "bob").statusCode(),
+                "Получен некорректный код ответа");
+
+        // Проверяем истории клиентов
+        assertEquals(List.of(1, 10), getClientHistoryIds(client, "alice"), "Некорректная история клиента");
+        assertEquals(List.of(11), getClientHistoryIds(client, "bob"), "Некорректная история клиента");
+        assertEquals(List.of(), getClientHistoryIds(client, "carol"), "История нового клиента должна быть пуста");
+        // Общая история трекера не изменилась
+        assertTrue(taskManager.getHistory().isEmpty(), "Просмотры клиентов попали в общую историю");
+
+        // Удалённая из трекера задача удаляется из историй клиентов
+        taskManager.removeEpicById(10);
+        assertEquals(List.of(1), getClientHistoryIds(client, "alice"), "Удалённый эпик остался в истории клиента");
+        assertEquals(List.of(), getClientHistoryIds(client, "bob"),
+                "Подзадача удалённого эпика осталась в истории клиента");
+
+        // Некорректный идентификатор клиента
+        assertEquals(400, sendAsClient(client, PATH_HISTORY, " ").statusCode(), "Получен некорректный код ответа");
+    }
+
+    // Проверяет ограничение размера истории клиента и удаление историй неактивных клиентов
+    @Test
+    void shouldBoundClientHistoriesAndEvictIdleClients() {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+        AtomicLong now = new AtomicLong();
+        ClientHistories histories = new ClientHistories(taskManager, 2, Duration.ofMinutes(10), 10, now::get);
+
+        // В истории клиента остаются два последних просмотра
+        histories.addTask("alice", taskManager.findBasicTaskById(1));
+        histories.addTask("alice", taskManager.findBasicTaskById(2));
+        histories.addTask("alice", taskManager.findBasicTaskById(3));
+        assertEquals(List.of(2, 3), histories.getHistory("alice").stream().map(Task::getID).toList(),
+                "Некорректное вытеснение задач из истории клиента");
+
+        // Через 6 минут обращается другой клиент
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+        histories.addTask("bob", taskManager.findEpicById(10));
+        assertEquals(2, histories.getClientCount(), "Некорректное количество клиентов");
+
+        // Ещё через 6 минут история первого клиента удаляется, а второго - остаётся
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+        assertEquals(List.of(10), histories.getHistory("bob").stream().map(Task::getID).toList(),
+                "История активного клиента не должна удаляться");
+        assertEquals(1, histories.getClientCount(), "История неактивного клиента не удалена");
+        assertTrue(histories.getHistory("alice").isEmpty(), "История неактивного клиента не удалена");
+
+        histories.close();
+    }
+
+    // Проверяет ограничение количества клиентов (вытесняется клиент, дольше всех не обращавшийся к серверу)
+    @Test
+    void shouldEvictLeastRecentlyUsedClientWhenTooManyClients() {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+        AtomicLong now = new AtomicLong();
+        ClientHistories histories = new ClientHistories(taskManager, 2, Duration.ofMinutes(10), 2, now::get);
+
+        histories.addTask("alice", taskManager.findBasicTaskById(1));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        histories.addTask("bob", taskManager.findBasicTaskById(2));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        // Первый клиент обращается к серверу позже второго
+        histories.getHistory("alice");
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // Новый клиент вытесняет второго клиента
+        histories.addTask("carol", taskManager.findBasicTaskById(3));
+        assertEquals(2, histories.getClientCount(), "Превышено количество клиентов");
+        assertEquals(List.of(1), histories.getHistory("alice").stream().map(Task::getID).toList(),
+                "Вытеснена история недавно обращавшегося клиента");
+        assertTrue(histories.getHistory("bob").isEmpty(), "Не вытеснена история давно обращавшегося клиента");
+        assertEquals(List.of(3), histories.getHistory("carol").stream().map(Task::getID).toList(),
+                "Некорректная история нового клиента");
+
+        // Множество новых клиентов не увеличивает количество хранимых историй
+        for (int i = 0; i < 100; i++) {
+            histories.addTask("client" + i, taskManager.findBasicTaskById(1));
+        }
+        assertEquals(2, histories.getClientCount(), "Превышено количество клиентов");
+
+        histories.close();
+    }
+
+    // Отправить GET-запрос от имени клиента
+    private HttpResponse<String> sendAsClient(HttpClient client, String uri, String clientId)
+            throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(uri))
+                .header(ClientHistories.CLIENT_ID_HEADER, clientId).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Получить id задач из истории просмотра клиента
+    private List<Integer> getClientHistoryIds(HttpClient client, String clientId)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = sendAsClient(client, PATH_HISTORY, clientId);
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+
+        List<Task> tasks = gson.fromJson(response.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        return tasks.stream().map(Task::getID).toList();
+    }
+
+    // Проверяет, что удаление из трекера задачи не удаляет из историй клиентов задачу другого типа с тем же id
+    @Test
+    void shouldNotRemoveTaskOfAnotherTypeWithSameIdFromClientHistories() {
+        ClientHistories histories = new ClientHistories(taskManager, 2, Duration.ofMinutes(10), 10);
+        Task task = new Task(50, "Task", "description", TaskStatus.NEW, null, Duration.ZERO);
+        Epic epic = new Epic(50, "Epic", "description");
+        taskManager.addBasicTask(task);
+        taskManager.addEpic(epic);
+        histories.addTask("alice", epic);
+
+        // Удаляем задачу - эпик с тем же id остаётся в истории
+        taskManager.removeBasicTaskById(task.getID());
+        assertEquals(List.of(epic), histories.getHistory("alice"), "Из истории удалена задача другого типа");
+
+        // Удаляем эпик - он удаляется из истории
+        taskManager.removeEpicById(epic.getID());
+        assertTrue(histories.getHistory("alice").isEmpty(), "Удалённый эпик остался в истории");
+
+        histories.close();
+    }
 }
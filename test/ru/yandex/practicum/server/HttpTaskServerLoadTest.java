@@ -0,0 +1,116 @@
+package ru.yandex.practicum.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ru.yandex.practicum.managers.InMemoryTaskManager;
+import ru.yandex.practicum.managers.TaskManager;
+import ru.yandex.practicum.tasks.Task;
+import ru.yandex.practicum.tasks.TaskStatus;
+
+// Нагрузочный тест HttpTaskServer для каждого способа обработки запросов
+// Выводит пропускную способность и проверяет, что параллельные запросы не нарушают состояние трекера
+// Клиент использует HTTP/1.1 с keep-alive, т.е. соединения переиспользуются между запросами
+class HttpTaskServerLoadTest {
+    // Количество клиентских потоков
+    private static final int CLIENTS = 8;
+    // Количество запросов от каждого клиента
+    private static final int REQUESTS_PER_CLIENT = 100;
+    // Каждый такой по счёту запрос является POST-запросом на создание задачи
+    private static final int POST_EVERY = 10;
+    // Количество задач в трекере перед началом теста
+    private static final int INITIAL_TASKS = 200;
+    // Форматтер для даты
+    private static final DateTimeFormatter DTF = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+
+    @ParameterizedTest
+    @EnumSource(ExecutorMode.class)
+    void shouldServeConcurrentRequests(ExecutorMode executorMode) throws Exception {
+        TaskManager taskManager = new InMemoryTaskManager();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 1; i <= INITIAL_TASKS; i++) {
+            taskManager.addBasicTask(new Task(i, "Task " + i, "description", TaskStatus.NEW,
+                    start.plusHours(i), Duration.ofMinutes(30)));
+        }
+
+        ServerSettings settings = new ServerSettings(ServerSettings.DEFAULT_PORT, 128, executorMode, 8)
+                .withTcpNoDelay(true);
+        HttpTaskServer taskServer = new HttpTaskServer(taskManager, settings);
+        taskServer.start();
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        long startNanos = System.nanoTime();
+        try {
+            for (int clientIndex = 0; clientIndex < CLIENTS; clientIndex++) {
+                int clientId = clientIndex;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        HttpRequest request = i % POST_EVERY == 0
+                                ? postTask(start.plusYears(1).plusHours((long) clientId * REQUESTS_PER_CLIENT + i))
+                                : getTask(1 + (clientId + i) % INITIAL_TASKS);
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() != 200 && response.statusCode() != 201) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+            taskServer.stop();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        int requests = CLIENTS * REQUESTS_PER_CLIENT;
+        System.out.printf("%s: %d запросов за %d мс (%.0f запросов/с)%n", executorMode, requests,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), requests / (elapsedNanos / 1e9));
+
+        assertEquals(0, failures.get(), "Часть запросов завершилась ошибкой");
+        assertEquals(INITIAL_TASKS + requests / POST_EVERY, taskManager.getAllBasicTasks().size(),
+                "Не все задачи были добавлены в трекер");
+        assertEquals(taskManager.getAllBasicTasks().size(), taskManager.getPrioritizedTasks().size(),
+                "Некорректный приоритезированный список задач");
+    }
+
+    // Сформировать запрос на получение задачи
+    private static HttpRequest getTask(int id) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + ServerSettings.DEFAULT_PORT + "/tasks/" + id))
+                .GET()
+                .build();
+    }
+
+    // Сформировать запрос на создание задачи
+    private static HttpRequest postTask(LocalDateTime startTime) throws IOException {
+        String body = "{\"name\":\"task\",\"description\":\"description\",\"status\":\"NEW\","
+                + "\"startTime\":\"" + startTime.format(DTF) + "\",\"duration\":30}";
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + ServerSettings.DEFAULT_PORT + "/tasks"))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -39,4 +39,44 @@ public class HttpTaskServerPriorityTest extends BaseHttpTaskServerTest {
         // Проверяем равенство коллекций
         assertIterableEquals(taskManager.getPrioritizedTasks(), tasks, "Списки задач не равны");
     }
+
+    // Проверяет постраничное получение задач по интервалу дат (GET /prioritized?from=...&to=...&limit=...)
+    @Test
+    void shouldReturnPrioritizedTasksInRangeByPages() throws IOException, InterruptedException {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+
+        // Первая страница: задачи с 2025-01-05 (исключая подзадачи 2028 года), по одной на страницу
+        String uri = PATH_PRIORITIZED + "?from=2025-01-05T00:00&to=2027-01-01T00:00&limit=1";
+        HttpResponse<String> response = sendRequest(uri, METHOD_GET, "");
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+        List<Task> tasks = gson.fromJson(response.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertEquals(List.of(2), tasks.stream().map(Task::getID).toList(), "Неверная первая страница");
+
+        // Вторая страница по курсору из заголовка
+        String cursor = response.headers().firstValue(PriorityHandler.NEXT_CURSOR_HEADER).orElseThrow();
+        response = sendRequest(uri + "&cursor=" + cursor, METHOD_GET, "");
+        tasks = gson.fromJson(response.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertEquals(List.of(3), tasks.stream().map(Task::getID).toList(), "Неверная вторая страница");
+
+        // Третья страница пуста, курсора следующей страницы нет
+        cursor = response.headers().firstValue(PriorityHandler.NEXT_CURSOR_HEADER).orElseThrow();
+        response = sendRequest(uri + "&cursor=" + cursor, METHOD_GET, "");
+        assertEquals("[]", response.body(), "Третья страница не пуста");
+        assertTrue(response.headers().firstValue(PriorityHandler.NEXT_CURSOR_HEADER).isEmpty(),
+                "Передан курсор после последней страницы");
+    }
+
+    // Проверяет ответ на некорректные параметры запроса (GET /prioritized?limit=0)
+    @Test
+    void shouldReturnBadRequestWhenQueryParametersAreInvalid() throws IOException, InterruptedException {
+        assertEquals(400, sendRequest(PATH_PRIORITIZED + "?limit=0", METHOD_GET, "").statusCode(),
+                "Получен некорректный код ответа");
+        assertEquals(400, sendRequest(PATH_PRIORITIZED + "?from=01.01.2025", METHOD_GET, "").statusCode(),
+                "Получен некорректный код ответа");
+        assertEquals(400, sendRequest(PATH_PRIORITIZED + "?cursor=abc", METHOD_GET, "").statusCode(),
+                "Получен некорректный код ответа");
+    }
 }
@@ -6,12 +6,18 @@ import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Random;
+import java.util.zip.GZIPInputStream;
 
 import ru.yandex.practicum.exceptions.TaskNotFoundException;
 import ru.yandex.practicum.tasks.Task;
@@ -219,4 +225,136 @@ class HttpTaskServerTasksTest extends BaseHttpTaskServerTest {
         // Проверяем код ответа
         assertEquals(406, response.statusCode(), "Некорректный код ответа");
     }
+
+    // Проверяет потоковую отдачу большого списка задач (GET /tasks)
+    @Test
+    void shouldStreamLargeTaskList() throws IOException, InterruptedException {
+        // Добавляем много задач со спецсимволами в названиях
+        for (int i = 1; i <= 5000; i++) {
+            taskManager.addBasicTask(new Task(i, "Задача \"" + i + "\"", "Описание, <" + i + ">", TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i), Duration.ofMinutes(30)));
+        }
+
+        // Отправляем запрос
+        HttpResponse<String> response = sendRequest(PATH_TASKS, METHOD_GET, "");
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+
+        // Проверяем, что получены все задачи в исходном виде
+        List<Task> tasks = gson.fromJson(response.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertIterableEquals(taskManager.getAllBasicTasks(), tasks, "Списки задач не равны");
+        assertEquals(taskManager.getAllBasicTasks().getLast().getName(), tasks.getLast().getName(),
+                "Название задачи искажено");
+    }
+
+    // Проверяет, что ответы отправляются с точной длиной тела без chunked-кодирования
+    @Test
+    void shouldSendResponsesWithContentLength() throws IOException, InterruptedException {
+        // Добавляем задачу
+        Task task = new Task(1, "Задача", "Описание", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofMinutes(30));
+        taskManager.addBasicTask(task);
+
+        // Ответ с телом
+        HttpResponse<String> response = sendRequest(PATH_TASKS + "/" + task.getID(), METHOD_GET, "");
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+        assertEquals(response.body().getBytes(StandardCharsets.UTF_8).length,
+                response.headers().firstValueAsLong("Content-Length").orElse(-1),
+                "Некорректная длина тела ответа");
+        assertTrue(response.headers().firstValue("Transfer-Encoding").isEmpty(),
+                "Ответ отправлен с chunked-кодированием");
+
+        // Ответ без тела
+        response = sendRequest(PATH_TASKS + "/" + task.getID(), METHOD_DELETE, "");
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+        assertTrue(response.body().isEmpty(), "Тело ответа не пустое");
+        assertTrue(response.headers().firstValue("Transfer-Encoding").isEmpty(),
+                "Ответ отправлен с chunked-кодированием");
+    }
+
+    // Проверяет сжатие gzip больших ответов и отправку небольших ответов без сжатия
+    @Test
+    void shouldCompressLargeResponsesWhenClientAcceptsGzip() throws IOException, InterruptedException {
+        // Добавляем задачи
+        for (int i = 1; i <= 500; i++) {
+            taskManager.addBasicTask(new Task(i, "Задача " + i, "Описание", TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i), Duration.ofMinutes(30)));
+        }
+        HttpClient client = HttpClient.newHttpClient();
+
+        // Большой ответ сжимается
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(PATH_TASKS))
+                .header("Accept-Encoding", "gzip, deflate").build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(""),
+                "Ответ не сжат");
+        String body;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            body = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<Task> tasks = gson.fromJson(body, new TypeToken<List<Task>>() {
+        }.getType());
+        assertIterableEquals(taskManager.getAllBasicTasks(), tasks, "Списки задач не равны");
+        assertTrue(response.body().length * 5 < body.getBytes(StandardCharsets.UTF_8).length,
+                "Ответ сжат слабее, чем ожидалось");
+
+        // Небольшой ответ не сжимается
+        response = client.send(HttpRequest.newBuilder(URI.create(PATH_TASKS + "/1"))
+                .header("Accept-Encoding", "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty(), "Небольшой ответ сжат");
+        assertEquals(response.body().length, response.headers().firstValueAsLong("Content-Length").orElse(-1),
+                "Некорректная длина тела ответа");
+
+        // Клиент, отказавшийся от gzip, получает несжатый ответ
+        response = client.send(HttpRequest.newBuilder(URI.create(PATH_TASKS))
+                .header("Accept-Encoding", "gzip;q=0, *").build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty(), "Ответ сжат вопреки запросу");
+    }
+
+    // Проверяет условный GET: 304 при актуальном ETag и 200 после изменения задач
+    @Test
+    void shouldAnswerNotModifiedWhenEtagIsCurrent() throws IOException, InterruptedException {
+        // Заполняем трекер тестовыми данными
+        fillTaskManagerWithTestData();
+        HttpClient client = HttpClient.newHttpClient();
+
+        // Первый запрос возвращает задачи и ETag
+        HttpResponse<String> response = sendRequest(PATH_TASKS, METHOD_GET, "");
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+
+        // Повторный запрос с тем же ETag
+        response = client.send(HttpRequest.newBuilder(URI.create(PATH_TASKS)).header("If-None-Match", etag)
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(304, response.statusCode(), "Получен некорректный код ответа");
+        assertTrue(response.body().isEmpty(), "Тело ответа 304 не пустое");
+
+        // Просмотр задачи не меняет список задач
+        sendRequest(PATH_TASKS + "/1", METHOD_GET, "");
+        response = client.send(HttpRequest.newBuilder(URI.create(PATH_TASKS)).header("If-None-Match", etag)
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(304, response.statusCode(), "Получен некорректный код ответа");
+
+        // После удаления задачи ETag устаревает
+        sendRequest(PATH_TASKS + "/1", METHOD_DELETE, "");
+        response = client.send(HttpRequest.newBuilder(URI.create(PATH_TASKS)).header("If-None-Match", etag)
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), "Получен некорректный код ответа");
+        assertNotEquals(etag, response.headers().firstValue("ETag").orElseThrow(), "ETag не изменился");
+    }
+
+    // Проверяет, что тело, не являющееся JSON-объектом, не принимается (POST /tasks)
+    @Test
+    void shouldRejectBodyThatIsNotJsonObject() throws IOException, InterruptedException {
+        // Отправляем пустое тело, массив и строку
+        for (String body : List.of("", "  ", "[]", "\"task\"")) {
+            HttpResponse<String> response = sendRequest(PATH_TASKS, METHOD_POST, body);
+
+            // Проверяем код ответа
+            assertEquals(400, response.statusCode(), "Некорректный код ответа для тела: " + body);
+        }
+
+        // Проверяем, что задачи не добавлены
+        assertTrue(taskManager.getAllBasicTasks().isEmpty(), "Задачи не должны быть добавлены");
+    }
 }
@@ -7,6 +7,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 class EpicTest {
     @Test
@@ -41,4 +42,17 @@ class EpicTest {
 
         assertEquals(1, epic.getSubtaskIDs().size(), "null нельзя добавить как подзадачу");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldNotChangeWhenSourceListChanged() {
+        // Список id подзадач эпика не зависит от переданного списка и не изменяется
+        List<Integer> subtaskIDs = new ArrayList<>(Arrays.asList(10, 20));
+        Epic epic = new Epic(1, "Epic", "description", TaskStatus.NEW, subtaskIDs,
+                LocalDateTime.now(), Duration.ofMinutes(60));
+        subtaskIDs.add(30);
+
+        assertEquals(List.of(10, 20), epic.getSubtaskIDs(), "Список id подзадач эпика изменился");
+        assertThrows(UnsupportedOperationException.class, () -> epic.getSubtaskIDs().add(30),
+                "Список id подзадач эпика должен быть только для чтения");
+    }
+}